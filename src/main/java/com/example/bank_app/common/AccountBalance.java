@@ -0,0 +1,6 @@
+package com.example.bank_app.common;
+
+import java.math.BigDecimal;
+
+public record AccountBalance(String accountId, BigDecimal balance) {
+}
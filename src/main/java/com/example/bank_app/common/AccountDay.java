@@ -0,0 +1,6 @@
+package com.example.bank_app.common;
+
+import java.time.LocalDate;
+
+public record AccountDay(String accountId, LocalDate day) {
+}
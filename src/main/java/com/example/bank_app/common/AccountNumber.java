@@ -0,0 +1,56 @@
+package com.example.bank_app.common;
+
+/**
+ * 16 digit account numbers: a 15 digit zero-padded serial followed by a Luhn check digit,
+ * which catches every single-digit typo and most adjacent transpositions without a database lookup.
+ */
+public final class AccountNumber {
+
+    public static final int LENGTH = 16;
+    public static final long MAX_SERIAL = 999_999_999_999_999L;
+
+    private AccountNumber() {
+    }
+
+    public static String fromSerial(long serial) {
+        if (serial < 0 || serial > MAX_SERIAL) {
+            throw new IllegalArgumentException("Account number serial out of range: " + serial);
+        }
+
+        char[] digits = new char[LENGTH];
+        long remaining = serial;
+        int sum = 0;
+        for (int i = LENGTH - 2; i >= 0; i--) {
+            int digit = (int) (remaining % 10);
+            remaining /= 10;
+            digits[i] = (char) ('0' + digit);
+            // the digit next to the check digit is the first one doubled
+            sum += (LENGTH - 2 - i) % 2 == 0 ? doubleDigit(digit) : digit;
+        }
+        digits[LENGTH - 1] = (char) ('0' + (10 - sum % 10) % 10);
+
+        return new String(digits);
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH) {
+            return false;
+        }
+
+        int sum = 0;
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            char character = accountNumber.charAt(i);
+            if (character < '0' || character > '9') {
+                return false;
+            }
+            int digit = character - '0';
+            sum += (LENGTH - 1 - i) % 2 == 1 ? doubleDigit(digit) : digit;
+        }
+        return sum % 10 == 0;
+    }
+
+    private static int doubleDigit(int digit) {
+        int doubled = digit * 2;
+        return doubled > 9 ? doubled - 9 : doubled;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bank_app.common;
+
+/**
+ * The identity of an account, safe to cache by account number. Balances are never part of it; a stale
+ * balanceSlots only sends a credit to the account row instead of a slot, which is still correct.
+ */
+public record AccountReference(String accountId, String customerId, int balanceSlots) {
+}
@@ -0,0 +1,4 @@
+package com.example.bank_app.common;
+
+public record AccountVersion(String accountId, long version, int balanceSlots) {
+}
@@ -0,0 +1,8 @@
+package com.example.bank_app.common;
+
+public enum AsyncTransferStatus {
+
+    PENDING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.example.bank_app.common;
+
+import java.math.BigDecimal;
+
+public interface DailyTotals {
+
+    BigDecimal getCredits();
+
+    BigDecimal getDebits();
+
+    long getTransactions();
+}
@@ -0,0 +1,10 @@
+package com.example.bank_app.common;
+
+import java.math.BigDecimal;
+
+/**
+ * A transfer accepted for asynchronous processing, as written to the {@link TransferJournal}.
+ */
+public record JournaledTransfer(String transferId, String customerId, String senderAccountId,
+                                BigDecimal amount, String receiverAccountNumber, String description) {
+}
@@ -0,0 +1,282 @@
+package com.example.bank_app.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of transfers accepted for asynchronous processing. Every record carries its length and a CRC32,
+ * so a record torn by a crash is detected and cut off when the journal is opened again.
+ * <p>
+ * Appends are group committed: a caller returns once an fsync covers its record, and one fsync covers every record
+ * written before it, so concurrent callers share the cost of syncing.
+ * <p>
+ * The journal is split into segment files next to the configured path, named after it with an increasing number.
+ * Appends go to the newest segment until it reaches the segment size, and an older segment is deleted as soon as
+ * every transfer in it has been {@linkplain #release released}, so the journal only holds unfinished transfers.
+ */
+public class TransferJournal implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path path;
+    private final long segmentBytes;
+    private final List<JournaledTransfer> recoveredTransfers = new ArrayList<>();
+    private final Map<Long, Segment> segments = new HashMap<>();
+    private final Map<String, Segment> segmentsByTransferId = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private Segment currentSegment;
+
+    public TransferJournal(Path path, long segmentBytes) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(this.path.getParent());
+
+        long lastSegmentId = 0;
+        for (Map.Entry<Long, Path> segmentFile : findSegmentFiles().entrySet()) {
+            Segment segment = new Segment(segmentFile.getKey(), segmentFile.getValue());
+            for (JournaledTransfer transfer : segment.readRecords()) {
+                recoveredTransfers.add(transfer);
+                segment.unreleasedTransfers++;
+                segmentsByTransferId.put(transfer.transferId(), segment);
+            }
+            segments.put(segment.id, segment);
+            lastSegmentId = segment.id;
+        }
+        currentSegment = openSegment(lastSegmentId + 1);
+        for (Segment segment : List.copyOf(segments.values())) {
+            deleteIfReleased(segment);
+        }
+    }
+
+    // the transfers found in the journal when it was opened, oldest first
+    public List<JournaledTransfer> getRecoveredTransfers() {
+        return recoveredTransfers;
+    }
+
+    public void append(JournaledTransfer transfer) {
+        ByteBuffer record = encode(transfer);
+        Segment segment;
+        long end;
+        try {
+            writeLock.lock();
+            try {
+                segment = currentSegment;
+                while (record.hasRemaining()) {
+                    segment.channel.write(record);
+                }
+                end = segment.channel.position();
+                segment.unreleasedTransfers++;
+                segmentsByTransferId.put(transfer.transferId(), segment);
+                if (end >= segmentBytes) {
+                    rollSegment();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            segment.force(end);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Records that the transfer has an outcome, so its segment can go once nothing else in it is unfinished.
+    public void release(String transferId) {
+        writeLock.lock();
+        try {
+            Segment segment = segmentsByTransferId.remove(transferId);
+            if (segment != null) {
+                segment.unreleasedTransfers--;
+                deleteIfReleased(segment);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        writeLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // The segment being left is synced first, so an append that wrote to it returns without syncing it again.
+    private void rollSegment() throws IOException {
+        Segment previousSegment = currentSegment;
+        previousSegment.force(previousSegment.channel.position());
+        currentSegment = openSegment(previousSegment.id + 1);
+        deleteIfReleased(previousSegment);
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Segment segment = new Segment(id, path.resolveSibling(path.getFileName() + "." + id));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void deleteIfReleased(Segment segment) {
+        if (segment == currentSegment || segment.unreleasedTransfers > 0) {
+            return;
+        }
+        try {
+            segment.channel.close();
+            Files.delete(segment.path);
+            segments.remove(segment.id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // A journal written before segments existed sits at the configured path itself and is read as the first segment.
+    private SortedMap<Long, Path> findSegmentFiles() throws IOException {
+        SortedMap<Long, Path> segmentFiles = new TreeMap<>();
+        if (Files.exists(path)) {
+            segmentFiles.put(0L, path);
+        }
+        String prefix = path.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path.getParent(), prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    segmentFiles.put(Long.parseLong(suffix), file);
+                }
+            }
+        }
+        return segmentFiles;
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final ReentrantLock forceLock = new ReentrantLock();
+        private long forcedPosition;
+        private int unreleasedTransfers;
+
+        private Segment(long id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        private void force(long end) throws IOException {
+            forceLock.lock();
+            try {
+                if (forcedPosition < end) {
+                    long position = channel.position();
+                    channel.force(false);
+                    forcedPosition = position;
+                }
+            } finally {
+                forceLock.unlock();
+            }
+        }
+
+        private List<JournaledTransfer> readRecords() throws IOException {
+            List<JournaledTransfer> transfers = new ArrayList<>();
+            long position = 0;
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length <= 0 || position + HEADER_BYTES + length > size) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(payload, position + HEADER_BYTES);
+                if (checksum(payload.array()) != checksum) {
+                    break;
+                }
+                transfers.add(decode(payload.array()));
+                position += HEADER_BYTES + length;
+            }
+            return transfers;
+        }
+
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+            }
+        }
+    }
+
+    private static ByteBuffer encode(JournaledTransfer transfer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(transfer.transferId());
+            output.writeUTF(transfer.customerId());
+            output.writeUTF(transfer.senderAccountId());
+            output.writeUTF(transfer.amount().toPlainString());
+            output.writeUTF(transfer.receiverAccountNumber());
+            output.writeBoolean(transfer.description() != null);
+            if (transfer.description() != null) {
+                output.writeUTF(transfer.description());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] payload = bytes.toByteArray();
+        return ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt(checksum(payload))
+                .put(payload)
+                .flip();
+    }
+
+    private static JournaledTransfer decode(byte[] payload) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return new JournaledTransfer(
+                    input.readUTF(),
+                    input.readUTF(),
+                    input.readUTF(),
+                    new BigDecimal(input.readUTF()),
+                    input.readUTF(),
+                    input.readBoolean() ? input.readUTF() : null);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bank_app.common;
+
+public enum TransferLockingMode {
+
+    PESSIMISTIC,
+    OPTIMISTIC
+}
@@ -0,0 +1,44 @@
+package com.example.bank_app.common;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48 bits of Unix epoch milliseconds followed by a 12 bit counter and 62 random bits.
+ * The counter keeps ids generated within the same millisecond strictly increasing.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generate().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        // when the counter overflows it carries into the timestamp, which stays monotonic and runs at most a few ms ahead
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(last + 1, now));
+
+        long mostSignificantBits = (timestampAndCounter >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | timestampAndCounter & 0xFFFL;
+        long leastSignificantBits = ThreadLocalRandom.current().nextLong() >>> 2 | 0x8000000000000000L;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AuthTokenService authTokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            // a token login is kept apart from a password login, so it cannot be traded for a fresh token
+            authTokenService.verifyToken(header.substring(BEARER_PREFIX.length()))
+                    .ifPresent(customer -> SecurityContextHolder.getContext().setAuthentication(
+                            new PreAuthenticatedAuthenticationToken(customer, null, List.of())));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
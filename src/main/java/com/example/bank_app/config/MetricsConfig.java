@@ -0,0 +1,27 @@
+package com.example.bank_app.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer jdbcStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new JdbcStatementCounter());
+    }
+
+    // registered ahead of the security filter chain so the UserDetailsService lookup is counted too
+    @Bean
+    FilterRegistrationBean<JdbcStatementMetricsFilter> jdbcStatementMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<JdbcStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new JdbcStatementMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.common.TokenBucket;
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.exception.RateLimitExceededException;
+import com.example.bank_app.exception.ServerBusyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds requests with 429 while callers are already queueing for a database connection, and otherwise
+ * gives every customer separate token buckets for reads (GET, HEAD) and writes.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final Duration IDLE_BUCKET_EXPIRY = Duration.ofMinutes(10);
+
+    private final Cache<String, CustomerBuckets> bucketsByCustomerId = Caffeine.newBuilder()
+            .expireAfterAccess(IDLE_BUCKET_EXPIRY)
+            .build();
+    private final List<HikariDataSource> connectionPools;
+    private final double readsPerSecond;
+    private final int readBurst;
+    private final double writesPerSecond;
+    private final int writeBurst;
+    private final int maxThreadsAwaitingConnection;
+    private final long busyRetryAfterSeconds;
+
+    public RateLimitInterceptor(List<HikariDataSource> connectionPools,
+                                @Value("${bank-app.rate-limit.reads-per-second:20}") double readsPerSecond,
+                                @Value("${bank-app.rate-limit.read-burst:40}") int readBurst,
+                                @Value("${bank-app.rate-limit.writes-per-second:5}") double writesPerSecond,
+                                @Value("${bank-app.rate-limit.write-burst:10}") int writeBurst,
+                                @Value("${bank-app.load-shedding.max-threads-awaiting-connection:20}") int maxThreadsAwaitingConnection,
+                                @Value("${bank-app.load-shedding.retry-after:PT1S}") Duration busyRetryAfter) {
+        this.connectionPools = connectionPools;
+        this.readsPerSecond = readsPerSecond;
+        this.readBurst = readBurst;
+        this.writesPerSecond = writesPerSecond;
+        this.writeBurst = writeBurst;
+        this.maxThreadsAwaitingConnection = maxThreadsAwaitingConnection;
+        this.busyRetryAfterSeconds = Math.max(1, busyRetryAfter.toSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomerEntity customer)) {
+            return true;
+        }
+        if (isConnectionPoolSaturated()) {
+            throw new ServerBusyException(busyRetryAfterSeconds);
+        }
+
+        CustomerBuckets buckets = bucketsByCustomerId.get(customer.getId(), customerId -> new CustomerBuckets(
+                new TokenBucket(readsPerSecond, readBurst),
+                new TokenBucket(writesPerSecond, writeBurst)));
+        TokenBucket bucket = isRead(request) ? buckets.reads() : buckets.writes();
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        return true;
+    }
+
+    private boolean isConnectionPoolSaturated() {
+        for (HikariDataSource connectionPool : connectionPools) {
+            HikariPoolMXBean pool = connectionPool.getHikariPoolMXBean();
+            if (pool != null && pool.getThreadsAwaitingConnection() >= maxThreadsAwaitingConnection) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private record CustomerBuckets(TokenBucket reads, TokenBucket writes) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.bank_app.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers customers whose writes committed within the last {@code window},
+ * so their reads stay on the primary until the replica has caught up.
+ * <p>
+ * Writes are remembered by the instance that made them only, so the guarantee holds when a customer's
+ * requests keep reaching the same instance.
+ */
+public class ReadYourWritesWindow {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite(String customerId) {
+        recentWriters.put(customerId, Boolean.TRUE);
+    }
+
+    public boolean hasRecentWrite(String customerId) {
+        return recentWriters.getIfPresent(customerId) != null;
+    }
+}
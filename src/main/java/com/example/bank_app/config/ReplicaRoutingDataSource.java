@@ -0,0 +1,78 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.service.TransactionService;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions started by service methods to the replica and everything else to the primary.
+ * Repository calls made outside a service transaction (authentication, receiver lookups) stay on the primary,
+ * as do a customer's reads for a short window after one of their own writes commits.
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}, so the routing decision is made once the
+ * transaction's read-only flag and name are known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String SERVICE_PACKAGE_PREFIX = TransactionService.class.getPackageName() + ".";
+
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource, ReadYourWritesWindow readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        String customerId = currentCustomerId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteAfterCommit(customerId);
+            return Route.PRIMARY;
+        }
+        if (isServiceTransaction() && (customerId == null || !readYourWritesWindow.hasRecentWrite(customerId))) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    private boolean isServiceTransaction() {
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transactionName != null && transactionName.startsWith(SERVICE_PACKAGE_PREFIX);
+    }
+
+    private void recordWriteAfterCommit(String customerId) {
+        if (customerId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesWindow.recordWrite(customerId);
+                }
+            });
+        }
+    }
+
+    private String currentCustomerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomerEntity customer) {
+            return customer.getId();
+        }
+        return null;
+    }
+}
@@ -1,41 +1,56 @@
 package com.example.bank_app.config;
 
 import com.example.bank_app.repository.CustomerRepository;
+import com.example.bank_app.service.AuthTokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthTokenService authTokenService) throws Exception {
         http
                 .authorizeHttpRequests(configurer ->
                        configurer
                                .requestMatchers("/auth/register").permitAll()
+                               .requestMatchers(EndpointRequest.to("prometheus")).permitAll()
                                .anyRequest().authenticated())
                 .httpBasic(Customizer.withDefaults())
+                .addFilterBefore(new BearerTokenAuthenticationFilter(authTokenService), BasicAuthenticationFilter.class)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(csrf -> csrf.disable());
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     @Bean
-    UserDetailsService userDetailsService(CustomerRepository customerRepository) {
-        return email -> customerRepository
-                .findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    UserDetailsService userDetailsService(CustomerRepository customerRepository, MeterRegistry meterRegistry) {
+        Timer lookupTimer = meterRegistry.timer("bank.auth.user.lookup");
+        Counter userNotFoundCounter = meterRegistry.counter("bank.auth.user.not.found");
+        return email -> lookupTimer
+                .record(() -> customerRepository.findByEmail(email))
+                .orElseThrow(() -> {
+                    userNotFoundCounter.increment();
+                    return new UsernameNotFoundException("User not found with email: " + email);
+                });
     }
 }
@@ -0,0 +1,24 @@
+package com.example.bank_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class TransactionConfig {
+
+    // Transactions that write the transaction table run through this template. Hibernate refuses statements
+    // once the timeout has passed, so a transaction commits within the timeout of the date it was given,
+    // which is the bound the account summary job looks back by.
+    @Bean
+    TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager,
+                                            @Value("${bank-app.transfers.transaction-timeout:PT30S}") Duration transactionTimeout) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout(Math.toIntExact(transactionTimeout.toSeconds()));
+        return transactionTemplate;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bank_app.controller;
 
+import com.example.bank_app.dto.model.AccountDailySummaryDto;
 import com.example.bank_app.dto.model.AccountDto;
 import com.example.bank_app.dto.model.TransactionDto;
 import com.example.bank_app.dto.request.NewAccountRequest;
@@ -7,15 +8,20 @@ import com.example.bank_app.dto.request.NewMoneyTransferRequest;
 import com.example.bank_app.entity.CustomerEntity;
 import com.example.bank_app.entity.TransactionEntity;
 import com.example.bank_app.service.AccountService;
+import com.example.bank_app.service.AccountSummaryService;
 import com.example.bank_app.service.TransactionService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +31,7 @@ public class AccountController {
 
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final AccountSummaryService accountSummaryService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -44,19 +51,29 @@ public class AccountController {
     }
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<AccountDto> getAllAccounts() {
+    public ResponseEntity<List<AccountDto>> getAllAccounts(WebRequest webRequest) {
         CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return accountService.getAllAccounts(customerEntity.getId());
+
+        String eTag = accountService.getAllAccountsETag(customerEntity.getId());
+        return ConditionalGet.respond(webRequest, eTag, () -> accountService.getAllAccounts(customerEntity.getId()));
     }
 
     @GetMapping("{accountId}")
+    public ResponseEntity<AccountDto> getAccountByIdCustomerId(@PathVariable String accountId, WebRequest webRequest) {
+        CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        String eTag = accountService.getAccountETag(accountId, customerEntity.getId());
+        return ConditionalGet.respond(webRequest, eTag, () -> accountService.getAccountByIdAndCustomerId(accountId, customerEntity.getId()));
+    }
+
+    @GetMapping("{accountId}/summary")
     @ResponseStatus(HttpStatus.OK)
-    public AccountDto getAccountByIdCustomerId(@PathVariable String accountId) {
+    public List<AccountDailySummaryDto> getDailySummaries(@PathVariable String accountId,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        AccountDto accountDto = accountService.getAccountByIdAndCustomerId(accountId, customerEntity.getId());
-        return accountDto;
+        return accountSummaryService.getDailySummaries(accountId, customerEntity.getId(), from, to);
     }
 
     @DeleteMapping("{accountId}")
@@ -3,9 +3,16 @@ package com.example.bank_app.controller;
 
 import com.example.bank_app.dto.request.CustomerRegisterRequest;
 import com.example.bank_app.dto.response.RegisterResponse;
+import com.example.bank_app.dto.response.TokenResponse;
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.exception.PasswordAuthenticationRequiredException;
 import com.example.bank_app.service.AuthService;
+import com.example.bank_app.service.AuthTokenService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -15,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthTokenService authTokenService;
 
     @PostMapping("register")
     @ResponseStatus(HttpStatus.CREATED)
@@ -23,5 +31,16 @@ public class AuthController {
         return new RegisterResponse();
     }
 
+    @PostMapping("token")
+    @ResponseStatus(HttpStatus.OK)
+    public TokenResponse issueToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+            throw new PasswordAuthenticationRequiredException();
+        }
+        CustomerEntity customerEntity = (CustomerEntity) authentication.getPrincipal();
+        return authTokenService.issueToken(customerEntity);
+    }
+
 }
 
@@ -6,9 +6,10 @@ import com.example.bank_app.dto.model.CustomerDto;
 import com.example.bank_app.entity.CustomerEntity;
 import com.example.bank_app.service.CustomerService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -19,9 +20,10 @@ public class CustomerController {
     private final CustomerService customerService;
 
     @GetMapping("me")
-    @ResponseStatus(HttpStatus.OK)
-    public CustomerDto getAuthenticatedCustomerById() {
+    public ResponseEntity<CustomerDto> getAuthenticatedCustomerById(WebRequest webRequest) {
         CustomerEntity principal = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return customerService.getAuthenticatedCustomerById(principal.getId());
+
+        String eTag = customerService.getAuthenticatedCustomerETag(principal.getId());
+        return ConditionalGet.respond(webRequest, eTag, () -> customerService.getAuthenticatedCustomerById(principal.getId()));
     }
 }
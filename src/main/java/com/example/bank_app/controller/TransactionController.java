@@ -1,17 +1,41 @@
 package com.example.bank_app.controller;
 
 import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewBatchMoneyTransferRequest;
 import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.dto.response.AsyncTransferResponse;
+import com.example.bank_app.dto.response.BalanceAsOfResponse;
+import com.example.bank_app.dto.response.TransactionHistoryResponse;
 import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.service.AccountService;
+import com.example.bank_app.service.AsyncTransferService;
+import com.example.bank_app.service.IdempotencyService;
+import com.example.bank_app.service.StatementExportService;
 import com.example.bank_app.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,13 +43,22 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncTransferService asyncTransferService;
+    private final StatementExportService statementExportService;
+    private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("{accountId}/transfer-money")
-    public TransactionDto addNewTransaction(@PathVariable String accountId, @RequestBody NewMoneyTransferRequest newMoneyTransferRequest, UriComponentsBuilder ucb, HttpServletResponse response) {
+    public TransactionDto addNewTransaction(@PathVariable String accountId, @RequestBody NewMoneyTransferRequest newMoneyTransferRequest,
+                                            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                            UriComponentsBuilder ucb, HttpServletResponse response) {
         CustomerEntity customerEntity = (CustomerEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        TransactionDto transactionDto = transactionService.addNewTransaction(customerEntity.getId(), accountId, newMoneyTransferRequest);
+        TransactionDto transactionDto = idempotencyKey == null
+                ? transactionService.addNewTransaction(customerEntity.getId(), accountId, newMoneyTransferRequest)
+                : idempotencyService.addNewTransaction(customerEntity.getId(), accountId, newMoneyTransferRequest, idempotencyKey);
 
         URI locationOfNewTransaction = ucb
                 .path("{accountId}/transfer-money/{transactionDto}")
@@ -37,13 +70,97 @@ public class TransactionController {
         return transactionDto;
     }
 
+    @ResponseStatus(HttpStatus.CREATED)
+    @PostMapping("{accountId}/transfer-money/batch")
+    public List<TransactionDto> addNewTransactions(@PathVariable String accountId, @RequestBody NewBatchMoneyTransferRequest newBatchMoneyTransferRequest) {
+        CustomerEntity customerEntity = (CustomerEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return transactionService.addNewTransactions(customerEntity.getId(), accountId, newBatchMoneyTransferRequest.getTransfers());
+    }
+
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @PostMapping("{accountId}/transfer-money/async")
+    public AsyncTransferResponse addNewAsyncTransaction(@PathVariable String accountId, @RequestBody NewMoneyTransferRequest newMoneyTransferRequest,
+                                                        UriComponentsBuilder ucb, HttpServletResponse response) {
+        CustomerEntity customerEntity = (CustomerEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        AsyncTransferResponse asyncTransferResponse = asyncTransferService.addNewTransaction(customerEntity.getId(), accountId, newMoneyTransferRequest);
+
+        URI locationOfTransferStatus = ucb
+                .path("accounts/{accountId}/transfers/{transferId}")
+                .buildAndExpand(accountId, asyncTransferResponse.getTransferId())
+                .toUri();
+
+        response.setHeader("Location", locationOfTransferStatus.toString());
+
+        return asyncTransferResponse;
+    }
+
     @ResponseStatus(HttpStatus.OK)
+    @GetMapping("{accountId}/transfers/{transferId}")
+    public AsyncTransferResponse getTransferStatus(@PathVariable String accountId, @PathVariable String transferId) {
+        CustomerEntity customerEntity = (CustomerEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return asyncTransferService.getTransferStatus(customerEntity.getId(), accountId, transferId);
+    }
+
+    // every transaction changes the account's version, so it also tags each page of the history
     @GetMapping("{accountId}/transaction-history")
-    public List<TransactionDto> getAllTransactions(@PathVariable String accountId) {
+    public ResponseEntity<TransactionHistoryResponse> getTransactionHistory(@PathVariable String accountId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer limit,
+                                                                            WebRequest webRequest) {
+        CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        String eTag = accountService.getAccountETag(accountId, customerEntity.getId());
+        return ConditionalGet.respond(webRequest, eTag, () -> transactionService.getTransactionHistory(accountId, customerEntity.getId(), cursor, limit));
+    }
+
+    @GetMapping(value = "{accountId}/transaction-history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTransactionHistory(@PathVariable String accountId, HttpServletResponse response) throws IOException {
         CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        return transactionService.getAllTransactions(accountId, customerEntity.getId());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
 
+        transactionService.streamTransactionHistory(accountId, customerEntity.getId(), transactionDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(transactionDto));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        outputStream.flush();
     }
-}
 
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping("{accountId}/balance")
+    public BalanceAsOfResponse getBalanceAsOf(@PathVariable String accountId,
+                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return transactionService.getBalanceAsOf(accountId, customerEntity.getId(), asOf == null ? LocalDateTime.now() : asOf);
+    }
+
+    @GetMapping("{accountId}/statement.csv.gz")
+    public void exportStatement(@PathVariable String accountId,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                HttpServletResponse response) {
+        CustomerEntity customerEntity = (CustomerEntity)SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        statementExportService.exportStatementCsv(accountId, customerEntity.getId(), from, to, () -> {
+            response.setContentType("application/gzip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("statement-" + accountId + ".csv.gz")
+                    .build()
+                    .toString());
+            try {
+                return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream(), 8192), StandardCharsets.UTF_8));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+}
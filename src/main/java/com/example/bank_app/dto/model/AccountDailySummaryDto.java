@@ -0,0 +1,22 @@
+package com.example.bank_app.dto.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDailySummaryDto {
+
+    private LocalDate day;
+    private BigDecimal credits;
+    private BigDecimal debits;
+    private long transactionCount;
+    private BigDecimal closingBalance;
+}
@@ -1,14 +1,18 @@
 package com.example.bank_app.dto.model;
 
 import com.example.bank_app.common.TransactionType;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class TransactionDto {
 
     private String id;
@@ -18,4 +22,6 @@ public class TransactionDto {
     private BigDecimal amount;
     private LocalDateTime date;
     private String description;
+    private BigDecimal senderBalanceAfter;
+    private BigDecimal receiverBalanceAfter;
 }
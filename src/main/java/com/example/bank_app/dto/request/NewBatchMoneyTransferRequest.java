@@ -0,0 +1,11 @@
+package com.example.bank_app.dto.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class NewBatchMoneyTransferRequest {
+
+    private List<NewMoneyTransferRequest> transfers;
+}
@@ -0,0 +1,19 @@
+package com.example.bank_app.dto.response;
+
+import com.example.bank_app.common.AsyncTransferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncTransferResponse {
+
+    private String transferId;
+    private AsyncTransferStatus status;
+    private String transactionId;
+    private String failureReason;
+}
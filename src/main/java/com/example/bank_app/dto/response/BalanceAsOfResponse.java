@@ -0,0 +1,16 @@
+package com.example.bank_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BalanceAsOfResponse {
+
+    private String accountId;
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+}
@@ -0,0 +1,15 @@
+package com.example.bank_app.dto.response;
+
+import com.example.bank_app.dto.model.TransactionDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TransactionHistoryResponse {
+
+    private List<TransactionDto> transactions;
+    private String nextCursor;
+}
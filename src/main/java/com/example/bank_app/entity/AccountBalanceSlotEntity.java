@@ -0,0 +1,39 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.math.BigDecimal;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_balance_slot", indexes = {
+        @Index(name = "uk_account_balance_slot_account_slot", columnList = "account_id, slot", unique = true)
+})
+public class AccountBalanceSlotEntity {
+
+    @Id
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
+    private String id;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "account_id", nullable = false, columnDefinition = "binary(16)")
+    private String accountId;
+
+    @Column(name = "slot", nullable = false)
+    private int slot;
+
+    @Column(name = "balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal balance;
+}
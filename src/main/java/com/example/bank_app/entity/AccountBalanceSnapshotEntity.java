@@ -0,0 +1,41 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.UuidBinaryType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_balance_snapshot")
+public class AccountBalanceSnapshotEntity {
+
+    @Id
+    @Type(UuidBinaryType.class)
+    @Column(name = "account_id", columnDefinition = "binary(16)")
+    private String accountId;
+
+    @Column(name = "balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal balance;
+
+    // every posting of the account up to this entry_sequence is folded into the balance, 0 before the first run
+    @Column(name = "last_entry_sequence", nullable = false)
+    private long lastEntrySequence;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_daily_summary", indexes = {
+        @Index(name = "uk_account_daily_summary_account_day", columnList = "account_id, summary_day", unique = true)
+})
+public class AccountDailySummaryEntity {
+
+    @Id
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
+    private String id;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "account_id", nullable = false, columnDefinition = "binary(16)")
+    private String accountId;
+
+    @Column(name = "summary_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "credits", nullable = false, precision = 38, scale = 2)
+    private BigDecimal credits;
+
+    @Column(name = "debits", nullable = false, precision = 38, scale = 2)
+    private BigDecimal debits;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "closing_balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal closingBalance;
+}
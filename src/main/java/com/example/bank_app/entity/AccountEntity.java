@@ -1,11 +1,14 @@
 package com.example.bank_app.entity;
 
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,23 +18,37 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "account")
+@Table(name = "account", indexes = {
+        @Index(name = "uk_account_account_number", columnList = "account_number", unique = true),
+        @Index(name = "idx_account_customer_id", columnList = "customer_id")
+})
 public class AccountEntity {
 
     @Id
-    @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
     private String id;
 
-    @Column(name = "customer_id")
+    @Type(UuidBinaryType.class)
+    @Column(name = "customer_id", columnDefinition = "binary(16)")
     private String customerId;
 
     @Column(name = "account_number")
     private String accountNumber;
 
-    @Column(name = "balance")
+    @Column(name = "balance", precision = 38, scale = 2)
     private BigDecimal balance;
 
+    // 0 for regular accounts; hot accounts take credits on this many account_balance_slot rows
+    @Column(name = "balance_slots", nullable = false)
+    private int balanceSlots;
+
+    // bumped by every balance update, so it doubles as the ETag of the account
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
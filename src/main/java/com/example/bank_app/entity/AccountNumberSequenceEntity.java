@@ -0,0 +1,24 @@
+package com.example.bank_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "account_number_sequence")
+public class AccountNumberSequenceEntity {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,29 @@
+package com.example.bank_app.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "aggregation_watermark")
+public class AggregationWatermarkEntity {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    // transactions dated after this may not be folded into the aggregate yet
+    @Column(name = "processed_until", nullable = false)
+    private LocalDateTime processedUntil;
+}
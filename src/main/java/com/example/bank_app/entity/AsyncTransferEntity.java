@@ -0,0 +1,50 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.AsyncTransferStatus;
+import com.example.bank_app.common.UuidBinaryType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * The outcome of a journaled transfer. The id is the transfer id handed out when the transfer was accepted,
+ * and a completed outcome is written in the same transaction as the transfer itself.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "async_transfer")
+public class AsyncTransferEntity {
+
+    @Id
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
+    private String id;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "sender_account_id", nullable = false, columnDefinition = "binary(16)")
+    private String senderAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AsyncTransferStatus status;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "transaction_id", columnDefinition = "binary(16)")
+    private String transactionId;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    @CreationTimestamp
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -1,10 +1,13 @@
 package com.example.bank_app.entity;
 
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -20,8 +23,9 @@ import java.util.Collection;
 public class CustomerEntity implements UserDetails {
 
     @Id
-    @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
     private String id;
 
     @Column(name = "email")
@@ -42,6 +46,10 @@ public class CustomerEntity implements UserDetails {
     @Column(name = "date_of_birth")
     private LocalDateTime dateOfBirth;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return null;
@@ -0,0 +1,49 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "uk_idempotency_key_customer_key", columnList = "customer_id, idempotency_key", unique = true),
+        @Index(name = "idx_idempotency_key_created_at", columnList = "created_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
+    private String id;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "customer_id", nullable = false, columnDefinition = "binary(16)")
+    private String customerId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "transaction_id", columnDefinition = "binary(16)")
+    private String transactionId;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
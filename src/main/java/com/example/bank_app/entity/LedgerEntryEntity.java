@@ -0,0 +1,61 @@
+package com.example.bank_app.entity;
+
+import com.example.bank_app.common.LedgerEntryType;
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Type;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Builder
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ledger_entry", indexes = {
+        @Index(name = "uk_ledger_entry_entry_sequence", columnList = "entry_sequence", unique = true),
+        @Index(name = "idx_ledger_entry_account_sequence", columnList = "account_id, entry_sequence"),
+        @Index(name = "idx_ledger_entry_created_at", columnList = "created_at")
+})
+public class LedgerEntryEntity {
+
+    @Id
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
+    private String id;
+
+    // Numbered by the database on insert, so postings are ordered the same way whichever node wrote them.
+    // Hibernate leaves it to the column default and never reads it back.
+    @Column(name = "entry_sequence", insertable = false, updatable = false, columnDefinition = "bigint auto_increment")
+    private Long entrySequence;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "account_id", nullable = false, columnDefinition = "binary(16)")
+    private String accountId;
+
+    @Type(UuidBinaryType.class)
+    @Column(name = "transaction_id", nullable = false, columnDefinition = "binary(16)")
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LedgerEntryType entryType;
+
+    // signed, so an account's balance is the plain sum of its postings
+    @Column(name = "amount", nullable = false, precision = 38, scale = 2)
+    private BigDecimal amount;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -2,12 +2,15 @@ package com.example.bank_app.entity;
 
 
 import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,18 +20,25 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        @Index(name = "idx_transaction_sender_account_date", columnList = "sender_account_id, date, id"),
+        @Index(name = "idx_transaction_receiver_account_date", columnList = "receiver_account_id, date, id"),
+        @Index(name = "idx_transaction_date", columnList = "date")
+})
 public class TransactionEntity {
 
     @Id
-    @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
+    @Type(UuidBinaryType.class)
+    @Column(name = "id", columnDefinition = "binary(16)")
     private String id;
 
-    @Column(name = "sender_account_id")
+    @Type(UuidBinaryType.class)
+    @Column(name = "sender_account_id", columnDefinition = "binary(16)")
     private String senderAccountId;
 
-    @Column(name = "receiver_account_id")
+    @Type(UuidBinaryType.class)
+    @Column(name = "receiver_account_id", columnDefinition = "binary(16)")
     private String receiverAccountId;
 
     @Enumerated(EnumType.STRING)
@@ -44,4 +54,11 @@ public class TransactionEntity {
 
     @Column(name = "description")
     private String description;
+
+    // balances right after this transfer; null for hot accounts, whose slot credits have no order
+    @Column(name = "sender_balance_after", precision = 38, scale = 2)
+    private BigDecimal senderBalanceAfter;
+
+    @Column(name = "receiver_balance_after", precision = 38, scale = 2)
+    private BigDecimal receiverBalanceAfter;
 }
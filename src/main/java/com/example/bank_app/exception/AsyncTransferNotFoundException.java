@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class AsyncTransferNotFoundException extends RuntimeException {
+
+    public AsyncTransferNotFoundException(String transferId) {
+        super("Transfer can not found by id: " + transferId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bank_app.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AsyncTransferQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AsyncTransferQueueFullException(long retryAfterSeconds) {
+        super("Too many transfers are waiting to be applied, retry after " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
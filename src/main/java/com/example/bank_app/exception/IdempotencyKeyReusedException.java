@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used for a different transfer request.");
+    }
+}
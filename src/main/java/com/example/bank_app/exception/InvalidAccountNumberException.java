@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class InvalidAccountNumberException extends RuntimeException {
+
+    public InvalidAccountNumberException(String accountNumber) {
+        super("Invalid account number: " + accountNumber + ". Please check the number and try again.");
+    }
+}
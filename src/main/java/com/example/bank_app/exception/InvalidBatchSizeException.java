@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class InvalidBatchSizeException extends RuntimeException {
+
+    public InvalidBatchSizeException(int maxBatchSize) {
+        super("Invalid batch size! Please send between 1 and " + maxBatchSize + " transfers.");
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid transaction history cursor: " + cursor);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bank_app.exception;
+
+import java.time.LocalDate;
+
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(LocalDate from, LocalDate to) {
+        super("Invalid date range: " + from + " is after " + to);
+    }
+}
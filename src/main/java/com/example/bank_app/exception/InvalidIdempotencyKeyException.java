@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(int maxLength) {
+        super("Invalid Idempotency-Key! Please send between 1 and " + maxLength + " characters.");
+    }
+}
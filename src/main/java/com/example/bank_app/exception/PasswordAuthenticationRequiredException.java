@@ -0,0 +1,8 @@
+package com.example.bank_app.exception;
+
+public class PasswordAuthenticationRequiredException extends RuntimeException {
+
+    public PasswordAuthenticationRequiredException() {
+        super("Tokens are only issued for email and password credentials");
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bank_app.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(long retryAfterSeconds) {
+        super("Server is busy, retry after " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
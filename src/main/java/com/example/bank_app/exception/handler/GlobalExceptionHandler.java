@@ -3,7 +3,10 @@ package com.example.bank_app.exception.handler;
 
 import com.example.bank_app.dto.response.ErrorResponse;
 import com.example.bank_app.exception.*;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -52,6 +55,82 @@ public class GlobalExceptionHandler {
     protected ErrorResponse handleAccountNotFoundByNumberException(AccountNotFoundByNumberException ex) {
         return new ErrorResponse(ex.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ErrorResponse handleInvalidCursorException(InvalidCursorException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    protected ErrorResponse handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    protected ErrorResponse handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    protected ErrorResponse handleInvalidBatchSizeException(InvalidBatchSizeException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidAccountNumberException.class)
+    protected ErrorResponse handleInvalidAccountNumberException(InvalidAccountNumberException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(AsyncTransferNotFoundException.class)
+    protected ErrorResponse handleAsyncTransferNotFoundException(AsyncTransferNotFoundException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidDateRangeException.class)
+    protected ErrorResponse handleInvalidDateRangeException(InvalidDateRangeException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(RateLimitExceededException.class)
+    protected ErrorResponse handleRateLimitExceededException(RateLimitExceededException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(ServerBusyException.class)
+    protected ErrorResponse handleServerBusyException(ServerBusyException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    protected ErrorResponse handleObjectOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        return new ErrorResponse("Resource was changed by another request, retry");
+    }
+
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ExceptionHandler(PasswordAuthenticationRequiredException.class)
+    protected ErrorResponse handlePasswordAuthenticationRequiredException(PasswordAuthenticationRequiredException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"");
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(AsyncTransferQueueFullException.class)
+    protected ErrorResponse handleAsyncTransferQueueFullException(AsyncTransferQueueFullException ex, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ErrorResponse(ex.getMessage());
+    }
 }
 
 
@@ -0,0 +1,20 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.AccountDailySummaryDto;
+import com.example.bank_app.entity.AccountDailySummaryEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountDailySummaryMapper {
+
+    public AccountDailySummaryDto toDto(AccountDailySummaryEntity accountDailySummaryEntity) {
+        return AccountDailySummaryDto
+                .builder()
+                .day(accountDailySummaryEntity.getDay())
+                .credits(accountDailySummaryEntity.getCredits())
+                .debits(accountDailySummaryEntity.getDebits())
+                .transactionCount(accountDailySummaryEntity.getTransactionCount())
+                .closingBalance(accountDailySummaryEntity.getClosingBalance())
+                .build();
+    }
+}
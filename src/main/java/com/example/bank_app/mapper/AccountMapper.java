@@ -0,0 +1,20 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.entity.AccountEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountMapper {
+
+    public AccountDto toDto(AccountEntity accountEntity) {
+        return AccountDto
+                .builder()
+                .id(accountEntity.getId())
+                .customerId(accountEntity.getCustomerId())
+                .accountNumber(accountEntity.getAccountNumber())
+                .balance(accountEntity.getBalance())
+                .createdAt(accountEntity.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.CustomerDto;
+import com.example.bank_app.entity.CustomerEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CustomerMapper {
+
+    public CustomerDto toDto(CustomerEntity customerEntity) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(customerEntity.getId());
+        customerDto.setEmail(customerEntity.getEmail());
+        customerDto.setFirstName(customerEntity.getFirstName());
+        customerDto.setLastName(customerEntity.getLastName());
+        customerDto.setPhoneNumber(customerEntity.getPhoneNumber());
+        customerDto.setDateOfBirth(customerEntity.getDateOfBirth());
+        return customerDto;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.entity.TransactionEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionMapper {
+
+    public TransactionDto toDto(TransactionEntity transactionEntity) {
+        return TransactionDto
+                .builder()
+                .id(transactionEntity.getId())
+                .senderAccountId(transactionEntity.getSenderAccountId())
+                .receiverAccountId(transactionEntity.getReceiverAccountId())
+                .transactionType(transactionEntity.getTransactionType())
+                .amount(transactionEntity.getAmount())
+                .date(transactionEntity.getDate())
+                .description(transactionEntity.getDescription())
+                .senderBalanceAfter(transactionEntity.getSenderBalanceAfter())
+                .receiverBalanceAfter(transactionEntity.getReceiverBalanceAfter())
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AccountBalanceSlotEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlotEntity, String> {
+
+    @Query("SELECT COUNT(s) FROM AccountBalanceSlotEntity s WHERE s.accountId = ?1")
+    int countByAccountId(String accountId);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceSlotEntity s WHERE s.accountId = ?1")
+    BigDecimal sumBalanceByAccountId(String accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlotEntity s WHERE s.accountId = ?1 ORDER BY s.slot")
+    List<AccountBalanceSlotEntity> findAllByAccountIdForUpdate(String accountId);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceSlotEntity s SET s.balance = s.balance + ?3 WHERE s.accountId = ?1 AND s.slot = ?2")
+    int creditSlot(String accountId, int slot, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE AccountBalanceSlotEntity s SET s.balance = 0 WHERE s.accountId = ?1")
+    int clearSlots(String accountId);
+
+    @Modifying
+    @Query("DELETE FROM AccountBalanceSlotEntity s WHERE s.accountId = ?1")
+    int deleteAllByAccountId(String accountId);
+}
@@ -0,0 +1,7 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AccountBalanceSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshotEntity, String> {
+}
@@ -0,0 +1,15 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AccountDailySummaryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummaryEntity, String> {
+
+    Optional<AccountDailySummaryEntity> findByAccountIdAndDay(String accountId, LocalDate day);
+
+    List<AccountDailySummaryEntity> findAllByAccountIdAndDayBetweenOrderByDay(String accountId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,22 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AccountNumberSequenceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequenceEntity, String> {
+
+    @Modifying
+    @Query("UPDATE AccountNumberSequenceEntity s SET s.nextValue = s.nextValue + ?2 WHERE s.name = ?1")
+    int incrementNextValue(String name, long increment);
+
+    @Query("SELECT s.nextValue FROM AccountNumberSequenceEntity s WHERE s.name = ?1")
+    Optional<Long> findNextValueByName(String name);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO account_number_sequence (name, next_value) VALUES (?1, ?2)")
+    int insertSequence(String name, long nextValue);
+}
@@ -1,8 +1,17 @@
 package com.example.bank_app.repository;
 
+import com.example.bank_app.common.AccountBalance;
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.common.AccountVersion;
 import com.example.bank_app.entity.AccountEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +22,45 @@ public interface AccountRepository extends JpaRepository<AccountEntity, String>
     Optional<AccountEntity> findByIdAndCustomerId(String accountId, String customerId);
 
     List<AccountEntity> findAllByCustomerId(String customerId);
+
+    List<AccountEntity> findAllByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.id = ?1")
+    Optional<AccountEntity> findByIdForUpdate(String accountId);
+
+    // the rows are read, and so locked, in ascending id order whatever order the ids come in
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a.id FROM AccountEntity a WHERE a.id IN ?1 ORDER BY a.id")
+    List<String> lockAllByIdIn(Collection<String> accountIds);
+
+    boolean existsByIdAndCustomerId(String accountId, String customerId);
+
+    @Query("SELECT new com.example.bank_app.common.AccountReference(a.id, a.customerId, a.balanceSlots) FROM AccountEntity a WHERE a.accountNumber = ?1")
+    Optional<AccountReference> findReferenceByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.balance FROM AccountEntity a WHERE a.id = ?1")
+    Optional<BigDecimal> findBalanceById(String accountId);
+
+    @Query("SELECT new com.example.bank_app.common.AccountVersion(a.id, a.version, a.balanceSlots) FROM AccountEntity a WHERE a.id = ?1 AND a.customerId = ?2")
+    Optional<AccountVersion> findVersionByIdAndCustomerId(String accountId, String customerId);
+
+    @Query("SELECT new com.example.bank_app.common.AccountVersion(a.id, a.version, a.balanceSlots) FROM AccountEntity a WHERE a.customerId = ?1 ORDER BY a.id")
+    List<AccountVersion> findAllVersionsByCustomerId(String customerId);
+
+    // hot accounts are left out: part of their balance sits in slot rows this query does not lock
+    @Query("SELECT a.balance FROM AccountEntity a WHERE a.id = ?1 AND a.balanceSlots = 0")
+    Optional<BigDecimal> findBalanceWithoutSlotsById(String accountId);
+
+    @Query("SELECT new com.example.bank_app.common.AccountBalance(a.id, a.balance) FROM AccountEntity a WHERE a.id IN ?1 AND a.balanceSlots = 0")
+    List<AccountBalance> findAllBalancesWithoutSlotsByIdIn(Collection<String> accountIds);
+
+    // bulk updates skip the @Version check, so they bump the version themselves
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance - ?2, a.version = a.version + 1 WHERE a.id = ?1 AND a.balance >= ?2")
+    int debitBalance(String accountId, BigDecimal amount);
+
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance + ?2, a.version = a.version + 1 WHERE a.id = ?1")
+    int creditBalance(String accountId, BigDecimal amount);
 }
@@ -0,0 +1,22 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AggregationWatermarkEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface AggregationWatermarkRepository extends JpaRepository<AggregationWatermarkEntity, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM AggregationWatermarkEntity w WHERE w.name = ?1")
+    Optional<AggregationWatermarkEntity> findByNameForUpdate(String name);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO aggregation_watermark (name, processed_until) VALUES (?1, ?2)")
+    int insertWatermark(String name, LocalDateTime processedUntil);
+}
@@ -0,0 +1,11 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.AsyncTransferEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface AsyncTransferRepository extends JpaRepository<AsyncTransferEntity, String> {
+
+    Optional<AsyncTransferEntity> findByIdAndSenderAccountId(String transferId, String senderAccountId);
+}
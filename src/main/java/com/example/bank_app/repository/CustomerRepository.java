@@ -2,10 +2,14 @@ package com.example.bank_app.repository;
 
 import com.example.bank_app.entity.CustomerEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface CustomerRepository extends JpaRepository<CustomerEntity, String> {
 
     Optional<CustomerEntity> findByEmail(String email);
+
+    @Query("SELECT c.version FROM CustomerEntity c WHERE c.id = ?1")
+    Optional<Long> findVersionById(String customerId);
 }
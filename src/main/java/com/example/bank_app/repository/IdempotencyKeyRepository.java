@@ -0,0 +1,18 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    Optional<IdempotencyKeyEntity> findByCustomerIdAndIdempotencyKey(String customerId, String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < ?1")
+    int deleteAllCreatedBefore(LocalDateTime createdAt);
+}
@@ -0,0 +1,35 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.entity.LedgerEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity, String> {
+
+    List<LedgerEntryEntity> findAllByTransactionId(String transactionId);
+
+    @Query("SELECT DISTINCT e.accountId FROM LedgerEntryEntity e WHERE e.createdAt > ?1 AND e.entrySequence <= ?2")
+    List<String> findAccountIdsWithEntriesCreatedAfter(LocalDateTime createdAt, long maxEntrySequence);
+
+    Optional<LedgerEntryEntity> findFirstByCreatedAtLessThanEqualOrderByEntrySequenceDesc(LocalDateTime createdAt);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntryEntity e WHERE e.accountId = ?1 AND e.entrySequence > ?2")
+    BigDecimal sumAmountByAccountIdAfter(String accountId, long entrySequence);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntryEntity e WHERE e.accountId = ?1 AND e.entrySequence > ?2 AND e.entrySequence <= ?3")
+    BigDecimal sumAmountByAccountIdBetween(String accountId, long afterEntrySequence, long untilEntrySequence);
+
+    // native queries bypass the id converter, so their id parameters are bound as BINARY(16)
+    default BigDecimal sumAmountByAccountIdCreatedUntil(String accountId, LocalDateTime createdAt) {
+        return sumAmountByAccountIdCreatedUntil(UuidBinaryType.toBytes(accountId), createdAt);
+    }
+
+    @Query(nativeQuery = true, value = "SELECT COALESCE(SUM(amount), 0) FROM ledger_entry WHERE account_id = ?1 AND created_at <= ?2")
+    BigDecimal sumAmountByAccountIdCreatedUntil(byte[] accountId, LocalDateTime createdAt);
+}
@@ -1,17 +1,113 @@
 package com.example.bank_app.repository;
 
+import com.example.bank_app.common.AccountDay;
+import com.example.bank_app.common.DailyTotals;
+import com.example.bank_app.common.UuidBinaryType;
 import com.example.bank_app.entity.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<TransactionEntity, String> {
 
-    @Query(nativeQuery = true, value = "SELECT * FROM transaction WHERE sender_account_id = ?1 AND transaction_type = 'INITIAL'")
+    @Query("SELECT t FROM TransactionEntity t WHERE t.senderAccountId = ?1 AND t.transactionType = com.example.bank_app.common.TransactionType.INITIAL")
     Optional<TransactionEntity> findInitialTransactionByAccountId(String accountId);
 
-    @Query(nativeQuery = true, value = "SELECT * FROM transaction WHERE sender_account_id =?1 OR receiver_account_id = ?1")
-    List<TransactionEntity> findAllByAccountId(String accountId);
+    @Query("SELECT MIN(t.date) FROM TransactionEntity t WHERE t.date > ?1")
+    Optional<LocalDateTime> findEarliestDateAfter(LocalDateTime date);
+
+    @Query("SELECT DISTINCT new com.example.bank_app.common.AccountDay(t.senderAccountId, CAST(t.date AS LocalDate)) FROM TransactionEntity t WHERE t.date > ?1 AND t.date <= ?2")
+    List<AccountDay> findSenderAccountDaysBetween(LocalDateTime after, LocalDateTime until);
+
+    @Query("SELECT DISTINCT new com.example.bank_app.common.AccountDay(t.receiverAccountId, CAST(t.date AS LocalDate)) FROM TransactionEntity t WHERE t.date > ?1 AND t.date <= ?2")
+    List<AccountDay> findReceiverAccountDaysBetween(LocalDateTime after, LocalDateTime until);
+
+    // native queries bypass the id converter, so their id parameters are bound as BINARY(16)
+    default List<TransactionEntity> findLatestByAccountId(String accountId, int limit) {
+        return findLatestByAccountId(UuidBinaryType.toBytes(accountId), limit);
+    }
+
+    default List<TransactionEntity> findByAccountIdBefore(String accountId, LocalDateTime date, String id, int limit) {
+        return findByAccountIdBefore(UuidBinaryType.toBytes(accountId), date, UuidBinaryType.toBytes(id), limit);
+    }
+
+    default Stream<TransactionEntity> streamAllByAccountIdAndDateRange(String accountId, LocalDateTime from, LocalDateTime to) {
+        return streamAllByAccountIdAndDateRange(UuidBinaryType.toBytes(accountId), from, to);
+    }
+
+    default Optional<TransactionEntity> findLatestByAccountIdAsOf(String accountId, LocalDateTime asOf) {
+        return findLatestByAccountIdAsOf(UuidBinaryType.toBytes(accountId), asOf);
+    }
+
+    default DailyTotals sumDailyTotalsByAccountId(String accountId, LocalDateTime from, LocalDateTime to) {
+        return sumDailyTotalsByAccountId(UuidBinaryType.toBytes(accountId), from, to);
+    }
+
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM (
+                (SELECT * FROM transaction WHERE sender_account_id = ?1
+                 ORDER BY date DESC, id DESC LIMIT ?2)
+                UNION ALL
+                (SELECT * FROM transaction WHERE receiver_account_id = ?1 AND sender_account_id <> ?1
+                 ORDER BY date DESC, id DESC LIMIT ?2)
+            ) history
+            ORDER BY date DESC, id DESC LIMIT ?2""")
+    List<TransactionEntity> findLatestByAccountId(byte[] accountId, int limit);
+
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM (
+                (SELECT * FROM transaction WHERE sender_account_id = ?1
+                 AND (date < ?2 OR (date = ?2 AND id < ?3))
+                 ORDER BY date DESC, id DESC LIMIT ?4)
+                UNION ALL
+                (SELECT * FROM transaction WHERE receiver_account_id = ?1 AND sender_account_id <> ?1
+                 AND (date < ?2 OR (date = ?2 AND id < ?3))
+                 ORDER BY date DESC, id DESC LIMIT ?4)
+            ) history
+            ORDER BY date DESC, id DESC LIMIT ?4""")
+    List<TransactionEntity> findByAccountIdBefore(byte[] accountId, LocalDateTime date, byte[] id, int limit);
+
+    // one backward seek per (account, date, id) index; the row carries the balance it left behind
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM (
+                (SELECT * FROM transaction WHERE sender_account_id = ?1 AND date <= ?2
+                 ORDER BY date DESC, id DESC LIMIT 1)
+                UNION ALL
+                (SELECT * FROM transaction WHERE receiver_account_id = ?1 AND sender_account_id <> ?1 AND date <= ?2
+                 ORDER BY date DESC, id DESC LIMIT 1)
+            ) latest
+            ORDER BY date DESC, id DESC LIMIT 1""")
+    Optional<TransactionEntity> findLatestByAccountIdAsOf(byte[] accountId, LocalDateTime asOf);
+
+    // an initial deposit and a transfer to the same account both have the account on each side,
+    // so they are only read by the sender branch; the deposit only counts as a credit
+    @Query(nativeQuery = true, value = """
+            SELECT COALESCE(SUM(credit), 0) AS credits, COALESCE(SUM(debit), 0) AS debits, COUNT(*) AS transactions FROM (
+                SELECT CASE WHEN receiver_account_id = ?1 THEN amount ELSE 0 END AS credit,
+                       CASE WHEN transaction_type = 'TRANSFER' THEN amount ELSE 0 END AS debit
+                FROM transaction WHERE sender_account_id = ?1 AND date >= ?2 AND date < ?3
+                UNION ALL
+                SELECT amount, 0
+                FROM transaction WHERE receiver_account_id = ?1 AND sender_account_id <> ?1 AND date >= ?2 AND date < ?3
+            ) day_transactions""")
+    DailyTotals sumDailyTotalsByAccountId(byte[] accountId, LocalDateTime from, LocalDateTime to);
+
+    // oldest first for statements; each branch is a range scan on its (account, date, id) index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM transaction WHERE sender_account_id = ?1 AND date >= ?2 AND date < ?3
+            UNION ALL
+            SELECT * FROM transaction WHERE receiver_account_id = ?1 AND sender_account_id <> ?1 AND date >= ?2 AND date < ?3
+            ORDER BY date, id""")
+    Stream<TransactionEntity> streamAllByAccountIdAndDateRange(byte[] accountId, LocalDateTime from, LocalDateTime to);
 }
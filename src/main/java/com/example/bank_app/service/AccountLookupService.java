@@ -0,0 +1,29 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class AccountLookupService {
+
+    public static final String ACCOUNTS_BY_NUMBER_CACHE = "accountsByNumber";
+
+    private final AccountRepository accountRepository;
+
+    // misses are not cached, so a number is resolvable as soon as its account exists
+    @Cacheable(cacheNames = ACCOUNTS_BY_NUMBER_CACHE, unless = "#result == null")
+    public Optional<AccountReference> findByAccountNumber(String accountNumber) {
+        return accountRepository.findReferenceByAccountNumber(accountNumber);
+    }
+
+    @CacheEvict(cacheNames = ACCOUNTS_BY_NUMBER_CACHE)
+    public void evict(String accountNumber) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.repository.AccountNumberSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks of serials reserved on the shared account_number_sequence row.
+ * Each node reserves a whole block in one short transaction, so numbers never collide across nodes
+ * and only one in every block-size calls touches the database.
+ */
+@Service
+public class AccountNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "account_number";
+    private static final long FIRST_SERIAL = 100_000_000_000_000L;
+
+    private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long nextSerial;
+    private long blockEnd;
+
+    public AccountNumberAllocator(AccountNumberSequenceRepository accountNumberSequenceRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${bank-app.account-number.block-size:100}") int blockSize) {
+        this.accountNumberSequenceRepository = accountNumberSequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextAccountNumber() {
+        long serial;
+        lock.lock();
+        try {
+            if (nextSerial == blockEnd) {
+                reserveBlock();
+            }
+            serial = nextSerial++;
+        } finally {
+            lock.unlock();
+        }
+        return AccountNumber.fromSerial(serial);
+    }
+
+    private void reserveBlock() {
+        long end;
+        try {
+            end = transactionTemplate.execute(status -> reserveBlockEnd());
+        } catch (DataIntegrityViolationException ex) {
+            // another node created the sequence row first
+            end = transactionTemplate.execute(status -> reserveBlockEnd());
+        }
+        blockEnd = end;
+        nextSerial = end - blockSize;
+    }
+
+    private long reserveBlockEnd() {
+        if (accountNumberSequenceRepository.incrementNextValue(SEQUENCE_NAME, blockSize) == 0) {
+            accountNumberSequenceRepository.insertSequence(SEQUENCE_NAME, FIRST_SERIAL + blockSize);
+            return FIRST_SERIAL + blockSize;
+        }
+        return accountNumberSequenceRepository.findNextValueByName(SEQUENCE_NAME).orElseThrow();
+    }
+}
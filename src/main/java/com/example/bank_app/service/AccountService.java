@@ -1,5 +1,6 @@
 package com.example.bank_app.service;
 
+import com.example.bank_app.common.AccountVersion;
 import com.example.bank_app.common.TransactionType;
 import com.example.bank_app.dto.model.AccountDto;
 import com.example.bank_app.dto.request.NewAccountRequest;
@@ -7,39 +8,59 @@ import com.example.bank_app.entity.AccountEntity;
 import com.example.bank_app.entity.CustomerEntity;
 import com.example.bank_app.entity.TransactionEntity;
 import com.example.bank_app.exception.*;
+import com.example.bank_app.mapper.AccountMapper;
 import com.example.bank_app.repository.AccountRepository;
 import com.example.bank_app.repository.TransactionRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
 import java.math.BigDecimal;
-import java.security.SecureRandom;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
 
     private final AccountRepository accountRepository;
-    private final ModelMapper modelMapper;
+    private final AccountMapper accountMapper;
     private final TransactionRepository transactionRepository;
-    private final SecureRandom secureRandom = new SecureRandom();
     private final AccountValidateService accountValidateService;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountLookupService accountLookupService;
+    private final LedgerService ledgerService;
+    private final BalanceSlotService balanceSlotService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private static final String ACCOUNTS_CREATED_COUNTER = "bank.accounts.created";
+    private static final String ACCOUNT_STAGE_TIMER = "bank.account.stage";
 
     public AccountDto addNewAccount(String customerId, NewAccountRequest newAccountRequest){
+        return transactionTemplate.execute(status -> createAccountWithInitialTransaction(customerId, newAccountRequest));
+    }
+
+    private AccountDto createAccountWithInitialTransaction(String customerId, NewAccountRequest newAccountRequest) {
         validateInitialBalance(newAccountRequest.getInitialBalance());
 
-        AccountEntity accountEntity = createAccount(customerId, newAccountRequest.getInitialBalance());
-        AccountEntity savedAccount = accountRepository.save(accountEntity);
+        AccountEntity accountEntity = accountStage("add", "allocate_number").record(() -> createAccount(customerId, newAccountRequest.getInitialBalance()));
+        AccountEntity savedAccount = accountStage("add", "save_account").record(() -> accountRepository.save(accountEntity));
 
-        createInitialTransactionIfNecessary(savedAccount, newAccountRequest.getInitialBalance());
+        accountStage("add", "save_initial_transaction").record(() -> createInitialTransactionIfNecessary(savedAccount, newAccountRequest.getInitialBalance()));
+        meterRegistry.counter(ACCOUNTS_CREATED_COUNTER).increment();
+
+        return accountStage("add", "map_dto").record(() -> accountMapper.toDto(savedAccount));
+    }
 
-        return modelMapper.map(savedAccount, AccountDto.class);
+    private Timer accountStage(String operation, String stage) {
+        return meterRegistry.timer(ACCOUNT_STAGE_TIMER, "operation", operation, "stage", stage);
     }
 
     private void createInitialTransactionIfNecessary(AccountEntity account, BigDecimal initialBalance) {
@@ -55,14 +76,10 @@ public class AccountService {
                 .senderAccountId(account.getId())
                 .receiverAccountId(account.getId())
                 .amount(initialBalance)
+                .senderBalanceAfter(initialBalance)
+                .receiverBalanceAfter(initialBalance)
                 .build();
-        transactionRepository.save(transaction);
-    }
-
-    private String generateAccountNumber() {
-        return IntStream.range(0,16)
-                .mapToObj(i -> String.valueOf(secureRandom.nextInt(10)))
-                .collect(Collectors.joining());
+        ledgerService.recordInitialDeposit(transactionRepository.save(transaction));
     }
 
     private void validateInitialBalance(BigDecimal initialBalance) {
@@ -74,34 +91,74 @@ public class AccountService {
     private AccountEntity createAccount(String customerId, BigDecimal initialBalance) {
         return AccountEntity
                 .builder()
-                .accountNumber(generateAccountNumber())
+                .accountNumber(accountNumberAllocator.nextAccountNumber())
                 .balance(initialBalance)
                 .customerId(customerId)
                 .build();
     }
 
 
+    @Transactional(readOnly = true)
     public List<AccountDto> getAllAccounts(String customerId) {
-        List<AccountEntity> accounts = accountRepository.findAllByCustomerId(customerId);
-        return mapAccountsToAccountDto(accounts);
+        List<AccountEntity> accounts = accountStage("list", "find_accounts").record(() -> accountRepository.findAllByCustomerId(customerId));
+        return accountStage("list", "map_dto").record(() -> mapAccountsToAccountDto(accounts));
     }
 
     private List<AccountDto> mapAccountsToAccountDto(List<AccountEntity> accounts) {
         return accounts.stream()
-                .map(account -> modelMapper.map(account, AccountDto.class))
+                .map(this::mapAccountToAccountDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public AccountDto getAccountByIdAndCustomerId(String accountId, String customerId) {
-        AccountEntity accountEntity = accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
-        return modelMapper.map(accountEntity, AccountDto.class);
+        AccountEntity accountEntity = accountStage("get", "find_account").record(() -> accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId));
+        return accountStage("get", "map_dto").record(() -> mapAccountToAccountDto(accountEntity));
+    }
+
+    // Tags are read before the body, so a change in between costs the client one more full response, never a stale one.
+    @Transactional(readOnly = true)
+    public String getAccountETag(String accountId, String customerId) {
+        return accountRepository.findVersionByIdAndCustomerId(accountId, customerId)
+                .map(this::toETag)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    @Transactional(readOnly = true)
+    public String getAllAccountsETag(String customerId) {
+        String accountTags = accountRepository.findAllVersionsByCustomerId(customerId).stream()
+                .map(this::toETag)
+                .collect(Collectors.joining(","));
+        return DigestUtils.md5DigestAsHex(accountTags.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // credits to a hot account change its slots but not its version, so the slot total is part of the tag
+    private String toETag(AccountVersion accountVersion) {
+        String eTag = accountVersion.accountId() + "." + accountVersion.version();
+        if (accountVersion.balanceSlots() > 0) {
+            return eTag + "." + balanceSlotService.getSlotBalance(accountVersion.accountId()).toPlainString();
+        }
+        return eTag;
+    }
+
+    // credits to a hot account wait in its balance slots until a debit sweeps them into the account row
+    private AccountDto mapAccountToAccountDto(AccountEntity account) {
+        AccountDto accountDto = accountMapper.toDto(account);
+        if (account.getBalanceSlots() > 0) {
+            accountDto.setBalance(account.getBalance().add(balanceSlotService.getSlotBalance(account.getId())));
+        }
+        return accountDto;
     }
 
     @Transactional
     public void deleteAccountById(String accountId, String customerId) {
         AccountEntity accountEntity = accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
         deleteInitialTransactionIfExist(accountId);
+        if (accountEntity.getBalanceSlots() > 0) {
+            balanceSlotService.deleteBalanceSlots(accountId);
+        }
         accountRepository.delete(accountEntity);
+        accountLookupService.evict(accountEntity.getAccountNumber());
     }
 
     private void deleteInitialTransactionIfExist(String accountId) {
@@ -0,0 +1,169 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountDay;
+import com.example.bank_app.common.DailyTotals;
+import com.example.bank_app.dto.model.AccountDailySummaryDto;
+import com.example.bank_app.entity.AccountDailySummaryEntity;
+import com.example.bank_app.entity.AggregationWatermarkEntity;
+import com.example.bank_app.exception.InvalidDateRangeException;
+import com.example.bank_app.mapper.AccountDailySummaryMapper;
+import com.example.bank_app.repository.AccountDailySummaryRepository;
+import com.example.bank_app.repository.AggregationWatermarkRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one account_daily_summary row per account and day with a transaction, so summaries over long
+ * ranges read a row per day instead of every transaction.
+ * <p>
+ * Each run finds the account days that have transactions dated after the watermark and recomputes those
+ * days from the transaction table. Recomputing is idempotent, so the watermark can look back far enough
+ * to catch transactions that committed after a later one was already seen.
+ * <p>
+ * A transaction is dated inside the database transaction that writes it, and that transaction runs under
+ * {@code bank-app.transfers.transaction-timeout}, so it commits no later than that after its date. Each run
+ * therefore looks back by the timeout plus {@code bank-app.account-summaries.max-clock-skew}, the most the
+ * clocks of the instances dating transactions may run behind the one running the job. A transaction that
+ * breaks either bound is only folded in when its day is recomputed for another transaction.
+ */
+@Service
+public class AccountSummaryService {
+
+    static final String WATERMARK_NAME = "account_daily_summary";
+
+    private static final LocalDateTime BEGINNING_OF_TRANSACTIONS = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDate EARLIEST_SUMMARY_DAY = BEGINNING_OF_TRANSACTIONS.toLocalDate();
+
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AggregationWatermarkRepository aggregationWatermarkRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final AccountValidateService accountValidateService;
+    private final AccountDailySummaryMapper accountDailySummaryMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration watermarkOverlap;
+    private final Duration refreshWindow;
+
+    public AccountSummaryService(AccountDailySummaryRepository accountDailySummaryRepository,
+                                 AggregationWatermarkRepository aggregationWatermarkRepository,
+                                 TransactionRepository transactionRepository,
+                                 TransactionService transactionService,
+                                 AccountValidateService accountValidateService,
+                                 AccountDailySummaryMapper accountDailySummaryMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${bank-app.transfers.transaction-timeout:PT30S}") Duration transactionTimeout,
+                                 @Value("${bank-app.account-summaries.max-clock-skew:PT30S}") Duration maxClockSkew,
+                                 @Value("${bank-app.account-summaries.refresh-window:PT1H}") Duration refreshWindow) {
+        this.accountDailySummaryRepository = accountDailySummaryRepository;
+        this.aggregationWatermarkRepository = aggregationWatermarkRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionService = transactionService;
+        this.accountValidateService = accountValidateService;
+        this.accountDailySummaryMapper = accountDailySummaryMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.watermarkOverlap = transactionTimeout.plus(maxClockSkew);
+        this.refreshWindow = refreshWindow;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountDailySummaryDto> getDailySummaries(String accountId, String customerId, LocalDate from, LocalDate to) {
+        accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
+        LocalDate firstDay = from == null ? EARLIEST_SUMMARY_DAY : from;
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        if (firstDay.isAfter(lastDay)) {
+            throw new InvalidDateRangeException(firstDay, lastDay);
+        }
+
+        return accountDailySummaryRepository.findAllByAccountIdAndDayBetweenOrderByDay(accountId, firstDay, lastDay).stream()
+                .map(accountDailySummaryMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    // A run works through the transactions dated since the watermark one window of refresh-window at a time, each
+    // in its own transaction that moves the watermark to the window's end, so a long backlog neither runs as one
+    // huge transaction nor starts over when a run fails halfway. The watermark row is locked for each window, so
+    // instances sharing a database take turns.
+    @Scheduled(fixedDelayString = "${bank-app.account-summaries.refresh-interval:PT5M}",
+            initialDelayString = "${bank-app.account-summaries.refresh-interval:PT5M}")
+    public void refreshSummaries() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        createWatermarkIfMissing();
+        boolean windowsLeft;
+        do {
+            windowsLeft = Boolean.TRUE.equals(transactionTemplate.execute(status -> refreshNextWindow(startedAt)));
+        } while (windowsLeft);
+    }
+
+    // Returns whether windows before startedAt are left. A stretch without transactions is skipped in one step.
+    private boolean refreshNextWindow(LocalDateTime startedAt) {
+        AggregationWatermarkEntity watermark = aggregationWatermarkRepository.findByNameForUpdate(WATERMARK_NAME).orElseThrow();
+        LocalDateTime processedUntil = watermark.getProcessedUntil();
+        if (!startedAt.isAfter(processedUntil)) {
+            return false;
+        }
+        LocalDateTime since = processedUntil.minus(watermarkOverlap);
+        Optional<LocalDateTime> earliestDate = transactionRepository.findEarliestDateAfter(since);
+        LocalDateTime windowStart = earliestDate.filter(processedUntil::isBefore).orElse(processedUntil);
+        LocalDateTime windowEnd = earliestDate.isEmpty() || startedAt.isBefore(windowStart.plus(refreshWindow))
+                ? startedAt
+                : windowStart.plus(refreshWindow);
+
+        Set<AccountDay> accountDays = new HashSet<>(transactionRepository.findSenderAccountDaysBetween(since, windowEnd));
+        accountDays.addAll(transactionRepository.findReceiverAccountDaysBetween(since, windowEnd));
+        accountDays.forEach(this::refreshSummary);
+
+        watermark.setProcessedUntil(windowEnd);
+        aggregationWatermarkRepository.save(watermark);
+        return windowEnd.isBefore(startedAt);
+    }
+
+    // The migration seeds the row. Without one there is nothing to lock, so instances starting together
+    // insert it first and the losers use the winner's row.
+    private void createWatermarkIfMissing() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!aggregationWatermarkRepository.existsById(WATERMARK_NAME)) {
+                    aggregationWatermarkRepository.insertWatermark(WATERMARK_NAME, BEGINNING_OF_TRANSACTIONS);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // another instance inserted the row first
+        }
+    }
+
+    private void refreshSummary(AccountDay accountDay) {
+        String accountId = accountDay.accountId();
+        LocalDateTime dayStart = accountDay.day().atStartOfDay();
+        LocalDateTime nextDayStart = dayStart.plusDays(1);
+        DailyTotals totals = transactionRepository.sumDailyTotalsByAccountId(accountId, dayStart, nextDayStart);
+
+        AccountDailySummaryEntity summary = accountDailySummaryRepository.findByAccountIdAndDay(accountId, accountDay.day())
+                .orElseGet(() -> AccountDailySummaryEntity
+                        .builder()
+                        .accountId(accountId)
+                        .day(accountDay.day())
+                        .build());
+        summary.setCredits(totals.getCredits());
+        summary.setDebits(totals.getDebits());
+        summary.setTransactionCount(totals.getTransactions());
+        // dates are stored with microsecond precision, so this is the last instant of the day
+        summary.setClosingBalance(transactionService.findBalanceAsOf(accountId, nextDayStart.minus(1, ChronoUnit.MICROS)));
+        accountDailySummaryRepository.save(summary);
+    }
+}
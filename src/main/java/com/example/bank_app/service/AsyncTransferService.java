@@ -0,0 +1,312 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AsyncTransferStatus;
+import com.example.bank_app.common.JournaledTransfer;
+import com.example.bank_app.common.TransferJournal;
+import com.example.bank_app.common.UuidV7Generator;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.dto.response.AsyncTransferResponse;
+import com.example.bank_app.entity.AsyncTransferEntity;
+import com.example.bank_app.exception.AsyncTransferNotFoundException;
+import com.example.bank_app.exception.AsyncTransferQueueFullException;
+import com.example.bank_app.repository.AsyncTransferRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Accepts transfers into a durable {@link TransferJournal} and applies them to the database on worker threads,
+ * so accepting a transfer costs a validation and an fsync instead of a database commit.
+ * <p>
+ * Transfers are partitioned over the workers by sender account, so one sender's transfers apply in the order
+ * they were accepted. A worker applies what has queued up in one transaction, locking the accounts involved in id
+ * order first, and falls back to one transaction per transfer when any of them is rejected, so a rejected transfer
+ * never takes the others down with it.
+ * <p>
+ * Each worker queue holds at most {@code bank-app.async-transfers.queue-capacity} transfers. A transfer whose queue
+ * is full is turned away before it reaches the journal, so a backlog the database cannot keep up with is pushed back
+ * to clients instead of piling up in memory and on disk.
+ */
+@Service
+public class AsyncTransferService {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(1);
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+    private final TransactionService transactionService;
+    private final AccountValidateService accountValidateService;
+    private final AsyncTransferRepository asyncTransferRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path journalPath;
+    private final long journalSegmentBytes;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+    private final List<BlockingQueue<JournaledTransfer>> workerQueues;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<String, JournaledTransfer> pendingTransfers = new ConcurrentHashMap<>();
+
+    private TransferJournal journal;
+
+    public AsyncTransferService(TransactionService transactionService,
+                                AccountValidateService accountValidateService,
+                                AsyncTransferRepository asyncTransferRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${bank-app.async-transfers.journal-path:data/transfer-journal.log}") Path journalPath,
+                                @Value("${bank-app.async-transfers.journal-segment-size:64MB}") DataSize journalSegmentSize,
+                                @Value("${bank-app.async-transfers.workers:4}") int workerCount,
+                                @Value("${bank-app.async-transfers.batch-size:100}") int batchSize,
+                                @Value("${bank-app.async-transfers.queue-capacity:10000}") int queueCapacity,
+                                @Value("${bank-app.load-shedding.retry-after:PT1S}") Duration retryAfter) {
+        this.transactionService = transactionService;
+        this.accountValidateService = accountValidateService;
+        this.asyncTransferRepository = asyncTransferRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.journalPath = journalPath;
+        this.journalSegmentBytes = journalSegmentSize.toBytes();
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.workerQueues = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workerQueues.add(new LinkedBlockingQueue<>(queueCapacity));
+        }
+    }
+
+    // Transfers left in the journal by a previous run are queued again unless their outcome was already stored.
+    // The workers start first, so a backlog larger than the queues drains while it is being queued.
+    @PostConstruct
+    public void start() throws IOException, InterruptedException {
+        journal = new TransferJournal(journalPath, journalSegmentBytes);
+        for (int i = 0; i < workerQueues.size(); i++) {
+            BlockingQueue<JournaledTransfer> queue = workerQueues.get(i);
+            workers.add(Thread.ofPlatform().name("async-transfer-worker-" + i).start(() -> runWorker(queue)));
+        }
+
+        List<JournaledTransfer> recoveredTransfers = journal.getRecoveredTransfers();
+        Set<String> finishedTransferIds = findFinishedTransferIds(recoveredTransfers);
+        for (JournaledTransfer transfer : recoveredTransfers) {
+            if (finishedTransferIds.contains(transfer.transferId())) {
+                journal.release(transfer.transferId());
+            } else {
+                pendingTransfers.put(transfer.transferId(), transfer);
+                workerQueues.get(partitionOf(transfer)).put(transfer);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        journal.close();
+    }
+
+    public AsyncTransferResponse addNewTransaction(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest) {
+        transactionService.validateNewTransaction(senderCustomerId, senderAccountId, newMoneyTransferRequest);
+
+        JournaledTransfer transfer = new JournaledTransfer(
+                UuidV7Generator.generate().toString(),
+                senderCustomerId,
+                senderAccountId,
+                newMoneyTransferRequest.getAmount(),
+                newMoneyTransferRequest.getReceiverAccountNumber(),
+                newMoneyTransferRequest.getDescription());
+
+        // Checked before the append, so a turned away transfer is never replayed. Requests racing for the last
+        // free slots wait for a worker to take one, which keeps the queue bounded all the same.
+        BlockingQueue<JournaledTransfer> queue = workerQueues.get(partitionOf(transfer));
+        if (queue.remainingCapacity() == 0) {
+            throw new AsyncTransferQueueFullException(retryAfterSeconds);
+        }
+
+        pendingTransfers.put(transfer.transferId(), transfer);
+        try {
+            journal.append(transfer);
+        } catch (UncheckedIOException ex) {
+            pendingTransfers.remove(transfer.transferId());
+            journal.release(transfer.transferId());
+            throw ex;
+        }
+        try {
+            queue.put(transfer);
+        } catch (InterruptedException ex) {
+            // the transfer is journaled, so the next start applies it
+            Thread.currentThread().interrupt();
+        }
+
+        return AsyncTransferResponse
+                .builder()
+                .transferId(transfer.transferId())
+                .status(AsyncTransferStatus.PENDING)
+                .build();
+    }
+
+    public AsyncTransferResponse getTransferStatus(String senderCustomerId, String senderAccountId, String transferId) {
+        accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(senderAccountId, senderCustomerId);
+
+        JournaledTransfer pendingTransfer = pendingTransfers.get(transferId);
+        if (pendingTransfer != null && pendingTransfer.senderAccountId().equals(senderAccountId)) {
+            return AsyncTransferResponse
+                    .builder()
+                    .transferId(transferId)
+                    .status(AsyncTransferStatus.PENDING)
+                    .build();
+        }
+        return asyncTransferRepository.findByIdAndSenderAccountId(transferId, senderAccountId)
+                .map(asyncTransfer -> AsyncTransferResponse
+                        .builder()
+                        .transferId(asyncTransfer.getId())
+                        .status(asyncTransfer.getStatus())
+                        .transactionId(asyncTransfer.getTransactionId())
+                        .failureReason(asyncTransfer.getFailureReason())
+                        .build())
+                .orElseThrow(() -> new AsyncTransferNotFoundException(transferId));
+    }
+
+    private Set<String> findFinishedTransferIds(List<JournaledTransfer> transfers) {
+        Set<String> finishedTransferIds = new HashSet<>();
+        for (int from = 0; from < transfers.size(); from += batchSize) {
+            List<String> transferIds = transfers.subList(from, Math.min(from + batchSize, transfers.size())).stream()
+                    .map(JournaledTransfer::transferId)
+                    .toList();
+            asyncTransferRepository.findAllById(transferIds).forEach(asyncTransfer -> finishedTransferIds.add(asyncTransfer.getId()));
+        }
+        return finishedTransferIds;
+    }
+
+    private int partitionOf(JournaledTransfer transfer) {
+        return Math.floorMod(transfer.senderAccountId().hashCode(), workerQueues.size());
+    }
+
+    private void runWorker(BlockingQueue<JournaledTransfer> queue) {
+        List<JournaledTransfer> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                applyBatch(batch);
+                for (JournaledTransfer transfer : batch) {
+                    pendingTransfers.remove(transfer.transferId());
+                    journal.release(transfer.transferId());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void applyBatch(List<JournaledTransfer> batch) throws InterruptedException {
+        if (batch.size() > 1 && applyBatchInOneTransaction(batch)) {
+            return;
+        }
+        for (JournaledTransfer transfer : batch) {
+            applyTransferWithRetry(transfer);
+        }
+    }
+
+    // Database outages, deadlocks included, are retried with the whole batch. Only a transfer being rejected sends
+    // the batch back to be applied one transfer at a time, to find out which one it was.
+    private boolean applyBatchInOneTransaction(List<JournaledTransfer> batch) throws InterruptedException {
+        List<String> senderAccountIds = batch.stream().map(JournaledTransfer::senderAccountId).toList();
+        List<String> receiverAccountNumbers = batch.stream().map(JournaledTransfer::receiverAccountNumber).toList();
+        while (true) {
+            try {
+                inTransaction(() -> {
+                    transactionService.lockAccountsForTransfers(senderAccountIds, receiverAccountNumbers);
+                    batch.forEach(this::applyTransfer);
+                });
+                return true;
+            } catch (DataIntegrityViolationException ex) {
+                return false;
+            } catch (DataAccessException | TransactionException ex) {
+                Thread.sleep(RETRY_BACKOFF);
+            } catch (RuntimeException ex) {
+                return false;
+            }
+        }
+    }
+
+    // Database outages are retried until they pass; every other failure is the transfer's own and is stored.
+    private void applyTransferWithRetry(JournaledTransfer transfer) throws InterruptedException {
+        while (true) {
+            try {
+                inTransaction(() -> applyTransfer(transfer));
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                storeFailure(transfer, ex);
+                return;
+            } catch (DataAccessException | TransactionException ex) {
+                Thread.sleep(RETRY_BACKOFF);
+            } catch (RuntimeException ex) {
+                storeFailure(transfer, ex);
+                return;
+            }
+        }
+    }
+
+    // an optimistic locking conflict is retried here with everything the transaction did
+    private void inTransaction(Runnable work) {
+        transactionService.retryOnOptimisticConflict(() -> transactionTemplate.execute(status -> {
+            work.run();
+            return null;
+        }));
+    }
+
+    private void applyTransfer(JournaledTransfer transfer) {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(transfer.amount())
+                .receiverAccountNumber(transfer.receiverAccountNumber())
+                .description(transfer.description())
+                .build();
+        TransactionDto transactionDto = transactionService.addNewTransaction(transfer.customerId(), transfer.senderAccountId(), request);
+        asyncTransferRepository.save(AsyncTransferEntity
+                .builder()
+                .id(transfer.transferId())
+                .senderAccountId(transfer.senderAccountId())
+                .status(AsyncTransferStatus.COMPLETED)
+                .transactionId(transactionDto.getId())
+                .build());
+    }
+
+    private void storeFailure(JournaledTransfer transfer, RuntimeException failure) throws InterruptedException {
+        String failureReason = failure.getMessage() == null ? failure.getClass().getSimpleName() : failure.getMessage();
+        AsyncTransferEntity asyncTransfer = AsyncTransferEntity
+                .builder()
+                .id(transfer.transferId())
+                .senderAccountId(transfer.senderAccountId())
+                .status(AsyncTransferStatus.FAILED)
+                .failureReason(failureReason.substring(0, Math.min(failureReason.length(), MAX_FAILURE_REASON_LENGTH)))
+                .build();
+        while (true) {
+            try {
+                asyncTransferRepository.save(asyncTransfer);
+                return;
+            } catch (DataAccessException | TransactionException ex) {
+                Thread.sleep(RETRY_BACKOFF);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.entity.AccountBalanceSlotEntity;
+import com.example.bank_app.exception.AccountNotFoundException;
+import com.example.bank_app.repository.AccountBalanceSlotRepository;
+import com.example.bank_app.repository.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Spreads the credits of hot accounts over several account_balance_slot rows, so concurrent incoming
+ * transfers lock different rows instead of queueing on the account row. A debit that the account row
+ * alone cannot cover first sweeps the slots back into it.
+ * <p>
+ * Slot rows are always locked after every account row a transaction touches, so a sweep holding the
+ * account row never waits on a credit that is itself waiting for an account row.
+ */
+@Service
+public class BalanceSlotService {
+
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+    private final AccountRepository accountRepository;
+    private final AccountLookupService accountLookupService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> hotAccountNumbers;
+    private final int hotAccountBalanceSlots;
+
+    public BalanceSlotService(AccountBalanceSlotRepository accountBalanceSlotRepository,
+                              AccountRepository accountRepository,
+                              AccountLookupService accountLookupService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${bank-app.hot-accounts.account-numbers:}") List<String> hotAccountNumbers,
+                              @Value("${bank-app.hot-accounts.balance-slots:16}") int hotAccountBalanceSlots) {
+        this.accountBalanceSlotRepository = accountBalanceSlotRepository;
+        this.accountRepository = accountRepository;
+        this.accountLookupService = accountLookupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hotAccountNumbers = hotAccountNumbers;
+        this.hotAccountBalanceSlots = hotAccountBalanceSlots;
+    }
+
+    // numbers of accounts that no longer exist are skipped, so a stale list does not stop the application
+    @EventListener(ApplicationReadyEvent.class)
+    public void enableConfiguredHotAccounts() {
+        hotAccountNumbers.forEach(accountNumber -> enableBalanceSlots(accountNumber, hotAccountBalanceSlots));
+    }
+
+    // Slots are only ever added: removing one would strand the credits it holds.
+    public void enableBalanceSlots(String accountNumber, int balanceSlots) {
+        transactionTemplate.executeWithoutResult(status -> accountRepository.findByAccountNumber(accountNumber)
+                .flatMap(account -> accountRepository.findByIdForUpdate(account.getId()))
+                .filter(account -> balanceSlots > account.getBalanceSlots())
+                .ifPresent(account -> {
+                    List<AccountBalanceSlotEntity> slots = IntStream.range(account.getBalanceSlots(), balanceSlots)
+                            .mapToObj(slot -> AccountBalanceSlotEntity
+                                    .builder()
+                                    .accountId(account.getId())
+                                    .slot(slot)
+                                    .balance(BigDecimal.ZERO)
+                                    .build())
+                            .toList();
+                    accountBalanceSlotRepository.saveAll(slots);
+                    account.setBalanceSlots(balanceSlots);
+                }));
+        accountLookupService.evict(accountNumber);
+    }
+
+    public void credit(String accountId, int balanceSlots, BigDecimal amount) {
+        int slot = ThreadLocalRandom.current().nextInt(balanceSlots);
+        if (accountBalanceSlotRepository.creditSlot(accountId, slot, amount) == 0) {
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    public void deleteBalanceSlots(String accountId) {
+        accountBalanceSlotRepository.deleteAllByAccountId(accountId);
+    }
+
+    public BigDecimal getSlotBalance(String accountId) {
+        return accountBalanceSlotRepository.sumBalanceByAccountId(accountId);
+    }
+
+    // Must run in the caller's transaction after the account row is locked; returns whether anything moved.
+    public boolean sweepIntoBalance(String accountId) {
+        BigDecimal slotBalance = accountBalanceSlotRepository.findAllByAccountIdForUpdate(accountId).stream()
+                .map(AccountBalanceSlotEntity::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (slotBalance.signum() == 0) {
+            return false;
+        }
+        accountBalanceSlotRepository.clearSlots(accountId);
+        accountRepository.creditBalance(accountId, slotBalance);
+        return true;
+    }
+}
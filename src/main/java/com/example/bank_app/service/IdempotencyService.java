@@ -0,0 +1,119 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.IdempotencyKeyEntity;
+import com.example.bank_app.exception.IdempotencyKeyReusedException;
+import com.example.bank_app.exception.InvalidIdempotencyKeyException;
+import com.example.bank_app.mapper.TransactionMapper;
+import com.example.bank_app.repository.IdempotencyKeyRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Makes transfers safe to retry. The first request with a given Idempotency-Key inserts the key in the same
+ * database transaction as the transfer, so the unique (customer_id, idempotency_key) index lets exactly one
+ * concurrent attempt through; every other attempt reads back the stored transaction without touching balances.
+ * An optimistic locking conflict rolls back the key with the transfer, and the pair is retried together.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionService transactionService;
+    private final TransactionMapper transactionMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bank-app.idempotency.key-ttl:P1D}")
+    private Duration idempotencyKeyTtl;
+
+    public TransactionDto addNewTransaction(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest, String idempotencyKey) {
+        validateIdempotencyKey(idempotencyKey);
+        String requestHash = hashRequest(senderAccountId, newMoneyTransferRequest);
+
+        Optional<TransactionDto> replayedTransaction = findReplayedTransaction(senderCustomerId, idempotencyKey, requestHash);
+        if (replayedTransaction.isPresent()) {
+            return replayedTransaction.get();
+        }
+
+        try {
+            return transactionService.retryOnOptimisticConflict(() -> transactionTemplate.execute(status ->
+                    recordKeyAndTransfer(senderCustomerId, senderAccountId, newMoneyTransferRequest, idempotencyKey, requestHash)));
+        } catch (DataIntegrityViolationException ex) {
+            // a concurrent retry committed the same key first
+            return findReplayedTransaction(senderCustomerId, idempotencyKey, requestHash).orElseThrow(() -> ex);
+        }
+    }
+
+    private TransactionDto recordKeyAndTransfer(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest,
+                                                String idempotencyKey, String requestHash) {
+        IdempotencyKeyEntity idempotencyKeyEntity = idempotencyKeyRepository.saveAndFlush(IdempotencyKeyEntity
+                .builder()
+                .customerId(senderCustomerId)
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .build());
+
+        TransactionDto transactionDto = transactionService.addNewTransaction(senderCustomerId, senderAccountId, newMoneyTransferRequest);
+        idempotencyKeyEntity.setTransactionId(transactionDto.getId());
+
+        return transactionDto;
+    }
+
+    private Optional<TransactionDto> findReplayedTransaction(String customerId, String idempotencyKey, String requestHash) {
+        return idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(customerId, idempotencyKey)
+                .map(idempotencyKeyEntity -> {
+                    if (!idempotencyKeyEntity.getRequestHash().equals(requestHash)) {
+                        throw new IdempotencyKeyReusedException(idempotencyKey);
+                    }
+                    return idempotencyKeyEntity.getTransactionId();
+                })
+                .flatMap(transactionRepository::findById)
+                .map(transactionMapper::toDto);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${bank-app.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredIdempotencyKeys() {
+        idempotencyKeyRepository.deleteAllCreatedBefore(LocalDateTime.now().minus(idempotencyKeyTtl));
+    }
+
+    private void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(MAX_IDEMPOTENCY_KEY_LENGTH);
+        }
+    }
+
+    private String hashRequest(String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest) {
+        String amount = newMoneyTransferRequest.getAmount() == null ? null : newMoneyTransferRequest.getAmount().stripTrailingZeros().toPlainString();
+        String request = String.join("\n",
+                senderAccountId,
+                String.valueOf(newMoneyTransferRequest.getReceiverAccountNumber()),
+                String.valueOf(amount),
+                String.valueOf(newMoneyTransferRequest.getDescription()));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
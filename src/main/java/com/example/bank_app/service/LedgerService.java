@@ -0,0 +1,190 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.LedgerEntryType;
+import com.example.bank_app.entity.AccountBalanceSnapshotEntity;
+import com.example.bank_app.entity.AggregationWatermarkEntity;
+import com.example.bank_app.entity.LedgerEntryEntity;
+import com.example.bank_app.entity.TransactionEntity;
+import com.example.bank_app.repository.AccountBalanceSlotRepository;
+import com.example.bank_app.repository.AccountBalanceSnapshotRepository;
+import com.example.bank_app.repository.AccountRepository;
+import com.example.bank_app.repository.AggregationWatermarkRepository;
+import com.example.bank_app.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes the append-only double-entry postings of every transfer and derives balances from them:
+ * the account's latest snapshot plus the sum of the postings made after it.
+ * <p>
+ * Snapshots are folded from the ledger alone, without locking accounts. A posting is dated inside the transaction
+ * that writes it, and that transaction commits within {@code bank-app.transfers.transaction-timeout} of the date,
+ * give or take {@code bank-app.account-summaries.max-clock-skew} between the clocks of the nodes. Once a posting is
+ * dated more than twice that long ago, every posting numbered before it has therefore committed or rolled back, so
+ * each run folds the postings up to the latest such one and none can turn up below it later.
+ */
+@Service
+public class LedgerService {
+
+    static final String WATERMARK_NAME = "account_balance_snapshot";
+
+    private static final LocalDateTime BEGINNING_OF_LEDGER = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String RECONCILIATION_MISMATCHES_COUNTER = "bank.ledger.reconciliation.mismatches";
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+    private final AggregationWatermarkRepository aggregationWatermarkRepository;
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate reconciliationTemplate;
+    private final Duration settleDelay;
+
+    public LedgerService(LedgerEntryRepository ledgerEntryRepository,
+                         AccountBalanceSnapshotRepository accountBalanceSnapshotRepository,
+                         AggregationWatermarkRepository aggregationWatermarkRepository,
+                         AccountRepository accountRepository,
+                         AccountBalanceSlotRepository accountBalanceSlotRepository,
+                         MeterRegistry meterRegistry,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${bank-app.transfers.transaction-timeout:PT30S}") Duration transactionTimeout,
+                         @Value("${bank-app.account-summaries.max-clock-skew:PT30S}") Duration maxClockSkew) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceSnapshotRepository = accountBalanceSnapshotRepository;
+        this.aggregationWatermarkRepository = aggregationWatermarkRepository;
+        this.accountRepository = accountRepository;
+        this.accountBalanceSlotRepository = accountBalanceSlotRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconciliationTemplate = new TransactionTemplate(transactionManager);
+        this.reconciliationTemplate.setReadOnly(true);
+        this.reconciliationTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.settleDelay = transactionTimeout.plus(maxClockSkew).multipliedBy(2);
+    }
+
+    public void recordTransfer(TransactionEntity transaction) {
+        ledgerEntryRepository.saveAll(createTransferEntries(transaction));
+    }
+
+    public void recordTransfers(List<TransactionEntity> transactions) {
+        List<LedgerEntryEntity> entries = new ArrayList<>(transactions.size() * 2);
+        transactions.forEach(transaction -> entries.addAll(createTransferEntries(transaction)));
+        ledgerEntryRepository.saveAll(entries);
+    }
+
+    // an initial deposit comes from outside the bank, so it has no counter-posting
+    public void recordInitialDeposit(TransactionEntity transaction) {
+        ledgerEntryRepository.save(createEntry(transaction.getReceiverAccountId(), transaction, LedgerEntryType.CREDIT, transaction.getAmount()));
+    }
+
+    private List<LedgerEntryEntity> createTransferEntries(TransactionEntity transaction) {
+        return List.of(
+                createEntry(transaction.getSenderAccountId(), transaction, LedgerEntryType.DEBIT, transaction.getAmount().negate()),
+                createEntry(transaction.getReceiverAccountId(), transaction, LedgerEntryType.CREDIT, transaction.getAmount()));
+    }
+
+    private LedgerEntryEntity createEntry(String accountId, TransactionEntity transaction, LedgerEntryType entryType, BigDecimal amount) {
+        return LedgerEntryEntity
+                .builder()
+                .accountId(accountId)
+                .transactionId(transaction.getId())
+                .entryType(entryType)
+                .amount(amount)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalance(String accountId) {
+        Optional<AccountBalanceSnapshotEntity> snapshot = accountBalanceSnapshotRepository.findById(accountId);
+        BigDecimal snapshotBalance = snapshot.map(AccountBalanceSnapshotEntity::getBalance).orElse(BigDecimal.ZERO);
+        long lastEntrySequence = snapshot.map(AccountBalanceSnapshotEntity::getLastEntrySequence).orElse(0L);
+        return snapshotBalance.add(ledgerEntryRepository.sumAmountByAccountIdAfter(accountId, lastEntrySequence));
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(String accountId, LocalDateTime asOf) {
+        return ledgerEntryRepository.sumAmountByAccountIdCreatedUntil(accountId, asOf);
+    }
+
+    // The watermark row is locked for the whole run, so instances sharing a database take turns. It holds the date
+    // the previous run folded up to, and every posting numbered after what that run folded is dated after it.
+    @Scheduled(fixedDelayString = "${bank-app.ledger.snapshot-interval:PT5M}")
+    public void snapshotBalances() {
+        createWatermarkIfMissing();
+        List<String> snapshottedAccountIds = transactionTemplate.execute(status -> {
+            AggregationWatermarkEntity watermark = aggregationWatermarkRepository.findByNameForUpdate(WATERMARK_NAME).orElseThrow();
+            LocalDateTime settledUntil = LocalDateTime.now().minus(settleDelay);
+            if (!settledUntil.isAfter(watermark.getProcessedUntil())) {
+                return List.<String>of();
+            }
+
+            List<String> accountIds = ledgerEntryRepository.findFirstByCreatedAtLessThanEqualOrderByEntrySequenceDesc(settledUntil)
+                    .map(LedgerEntryEntity::getEntrySequence)
+                    .map(settledEntrySequence -> snapshotBalancesUpTo(watermark.getProcessedUntil(), settledEntrySequence))
+                    .orElse(List.of());
+            watermark.setProcessedUntil(settledUntil);
+            aggregationWatermarkRepository.save(watermark);
+            return accountIds;
+        });
+        snapshottedAccountIds.forEach(this::reconcileBalance);
+    }
+
+    // The migration seeds the row. Without one there is nothing to lock, so instances starting together
+    // insert it first and the losers use the winner's row.
+    private void createWatermarkIfMissing() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!aggregationWatermarkRepository.existsById(WATERMARK_NAME)) {
+                    aggregationWatermarkRepository.insertWatermark(WATERMARK_NAME, BEGINNING_OF_LEDGER);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // another instance inserted the row first
+        }
+    }
+
+    private List<String> snapshotBalancesUpTo(LocalDateTime processedUntil, long settledEntrySequence) {
+        List<String> accountIds = ledgerEntryRepository.findAccountIdsWithEntriesCreatedAfter(processedUntil, settledEntrySequence);
+        accountIds.forEach(accountId -> advanceSnapshot(accountId, settledEntrySequence));
+        return accountIds;
+    }
+
+    private void advanceSnapshot(String accountId, long settledEntrySequence) {
+        AccountBalanceSnapshotEntity snapshot = accountBalanceSnapshotRepository.findById(accountId)
+                .orElseGet(() -> new AccountBalanceSnapshotEntity(accountId, BigDecimal.ZERO, 0, null));
+        if (snapshot.getLastEntrySequence() >= settledEntrySequence) {
+            return;
+        }
+        BigDecimal delta = ledgerEntryRepository.sumAmountByAccountIdBetween(accountId, snapshot.getLastEntrySequence(), settledEntrySequence);
+        snapshot.setBalance(snapshot.getBalance().add(delta));
+        snapshot.setLastEntrySequence(settledEntrySequence);
+        accountBalanceSnapshotRepository.save(snapshot);
+    }
+
+    // A transfer writes the balances and its postings in one transaction, so within one repeatable-read view the
+    // account row plus its slots always equals the ledger balance. A mismatch means something changed one without
+    // the other.
+    private void reconcileBalance(String accountId) {
+        Boolean balanced = reconciliationTemplate.execute(status -> accountRepository.findBalanceById(accountId)
+                .map(balance -> balance.add(accountBalanceSlotRepository.sumBalanceByAccountId(accountId)).compareTo(getBalance(accountId)) == 0)
+                .orElse(true));
+        if (!Boolean.TRUE.equals(balanced)) {
+            meterRegistry.counter(RECONCILIATION_MISMATCHES_COUNTER).increment();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.entity.TransactionEntity;
+import com.example.bank_app.exception.InvalidDateRangeException;
+import com.example.bank_app.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class StatementExportService {
+
+    static final String CSV_HEADER = "id,date,transaction_type,sender_account_id,receiver_account_id,amount,balance_after,description";
+
+    private static final LocalDate EARLIEST_STATEMENT_DATE = LocalDate.of(1970, 1, 1);
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final AccountValidateService accountValidateService;
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+
+    // The writer is only opened once the account and range are valid, so those errors still reach the client as JSON.
+    // Rows are written as they arrive from the database cursor and detached, which keeps memory flat for any range.
+    @Transactional(readOnly = true)
+    public void exportStatementCsv(String accountId, String customerId, LocalDate from, LocalDate to, Supplier<Writer> writerSupplier) {
+        accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
+        LocalDate firstDay = from == null ? EARLIEST_STATEMENT_DATE : from;
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        if (firstDay.isAfter(lastDay)) {
+            throw new InvalidDateRangeException(firstDay, lastDay);
+        }
+
+        try (Stream<TransactionEntity> transactions = transactionRepository.streamAllByAccountIdAndDateRange(
+                accountId, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
+             Writer writer = writerSupplier.get()) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            transactions.forEach(transaction -> {
+                writeCsvRow(writer, accountId, transaction);
+                entityManager.detach(transaction);
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeCsvRow(Writer writer, String accountId, TransactionEntity transaction) {
+        try {
+            writer.write(transaction.getId());
+            writer.write(',');
+            writer.write(transaction.getDate().toString());
+            writer.write(',');
+            writer.write(transaction.getTransactionType().name());
+            writer.write(',');
+            writer.write(transaction.getSenderAccountId());
+            writer.write(',');
+            writer.write(transaction.getReceiverAccountId());
+            writer.write(',');
+            writer.write(transaction.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(formatBalanceAfter(accountId, transaction));
+            writer.write(',');
+            writer.write(escapeCsv(neutralizeFormula(transaction.getDescription())));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // left empty for hot accounts and for transfers made before balances were recorded
+    private String formatBalanceAfter(String accountId, TransactionEntity transaction) {
+        BigDecimal balanceAfter = accountId.equals(transaction.getSenderAccountId())
+                ? transaction.getSenderBalanceAfter()
+                : transaction.getReceiverBalanceAfter();
+        return balanceAfter == null ? "" : balanceAfter.toPlainString();
+    }
+
+    // Descriptions are written by the sender, and spreadsheets run a cell starting with one of these
+    // characters as a formula, so such values are prefixed with a quote to keep them plain text.
+    private String neutralizeFormula(String value) {
+        if (value == null || value.isEmpty() || FORMULA_PREFIXES.indexOf(value.charAt(0)) < 0) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,22 +1,51 @@
 package com.example.bank_app.service;
 
+import com.example.bank_app.common.AccountBalance;
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.common.TransactionHistoryCursor;
 import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.common.TransferLockingMode;
 import com.example.bank_app.dto.model.TransactionDto;
 import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.dto.response.BalanceAsOfResponse;
+import com.example.bank_app.dto.response.TransactionHistoryResponse;
 import com.example.bank_app.entity.AccountEntity;
 import com.example.bank_app.entity.TransactionEntity;
 import com.example.bank_app.exception.AccountNotFoundByNumberException;
 import com.example.bank_app.exception.AccountNotFoundException;
 import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import com.example.bank_app.exception.InvalidAccountNumberException;
 import com.example.bank_app.exception.InvalidAmountException;
+import com.example.bank_app.exception.InvalidBatchSizeException;
+import com.example.bank_app.mapper.TransactionMapper;
 import com.example.bank_app.repository.AccountRepository;
 import com.example.bank_app.repository.TransactionRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,66 +55,409 @@ public class TransactionService {
     private final AccountValidateService accountValidateService;
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
-    private final ModelMapper modelMapper;
+    private final AccountLookupService accountLookupService;
+    private final BalanceSlotService balanceSlotService;
+    private final LedgerService ledgerService;
+    private final TransactionMapper transactionMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${bank-app.transfers.locking-mode:pessimistic}")
+    private TransferLockingMode lockingMode;
+
+    @Value("${bank-app.transfers.optimistic-max-attempts:5}")
+    private int optimisticMaxAttempts;
+
+    @Value("${bank-app.transfers.optimistic-retry-backoff:PT0.005S}")
+    private Duration optimisticRetryBackoff;
+
+    private static final String TRANSFERS_COUNTER = "bank.transfers";
+    private static final String OPTIMISTIC_RETRIES_COUNTER = "bank.transfers.optimistic.retries";
+    private static final String TRANSFER_STAGE_TIMER = "bank.transfer.stage";
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+    private static final int HISTORY_STREAM_PAGE_SIZE = 1_000;
+    private static final int MAX_BATCH_TRANSFER_SIZE = 10_000;
 
-    @Transactional
     public TransactionDto addNewTransaction(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest) {
-        AccountEntity senderAccount = getValidatedSenderAccountByCustomerIdAndAccountId(senderAccountId, senderCustomerId);
-        AccountEntity receiverAccount = getValidatedReceiverAccountByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber());
-        validateSenderBalanceEnoughAndValidAmount(senderAccount.getBalance(), newMoneyTransferRequest.getAmount());
-        TransactionEntity transactionEntity = createTransaction(senderAccountId, receiverAccount.getId(), newMoneyTransferRequest.getAmount(), newMoneyTransferRequest.getDescription());
-        updateBalances(senderAccount, receiverAccount, newMoneyTransferRequest);
+        try {
+            TransactionDto transactionDto = lockingMode == TransferLockingMode.OPTIMISTIC
+                    ? transferWithOptimisticRetry(senderCustomerId, senderAccountId, newMoneyTransferRequest)
+                    : inTransaction(() -> transfer(senderCustomerId, senderAccountId, newMoneyTransferRequest, false));
+            meterRegistry.counter(TRANSFERS_COUNTER, "outcome", "completed").increment();
+            return transactionDto;
+        } catch (RuntimeException ex) {
+            meterRegistry.counter(TRANSFERS_COUNTER, "outcome", ex.getClass().getSimpleName()).increment();
+            throw ex;
+        }
+    }
 
-        return modelMapper.map(transactionEntity, TransactionDto.class);
+    private TransactionDto transferWithOptimisticRetry(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest) {
+        return retryOnOptimisticConflict(() -> inTransaction(() -> transfer(senderCustomerId, senderAccountId, newMoneyTransferRequest, true)));
     }
 
-    private AccountEntity getValidatedSenderAccountByCustomerIdAndAccountId(String senderAccountId, String senderCustomerId) {
-        return accountRepository.findByIdAndCustomerId(senderAccountId, senderCustomerId)
-                .orElseThrow(() -> new AccountNotFoundException(senderAccountId));
+    // A conflict rolls back the whole transaction, so only an attempt that owns its transaction can run again.
+    // Callers that make transfers inside a transaction of their own (idempotent and async transfers) wrap that
+    // whole transaction in this, so a retry repeats everything it did. Inside a caller's transaction the conflict
+    // is passed up to the wrapper around it.
+    public <T> T retryOnOptimisticConflict(Supplier<T> attempt) {
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : optimisticMaxAttempts;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attemptNumber >= maxAttempts) {
+                    throw ex;
+                }
+                meterRegistry.counter(OPTIMISTIC_RETRIES_COUNTER).increment();
+                backOff(attemptNumber, ex);
+            }
+        }
+    }
+
+    // full jitter: a random pause below a cap that doubles with every attempt, so colliding transfers spread out
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long capNanos = optimisticRetryBackoff.toNanos() << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(capNanos + 1)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
     }
 
-    private AccountEntity getValidatedReceiverAccountByAccountNumber(String receiverAccountNumber) {
-        return accountRepository.findByAccountNumber(receiverAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundByNumberException(receiverAccountNumber));
+    private TransactionDto inTransaction(Supplier<TransactionDto> transfer) {
+        return transactionTemplate.execute(status -> transfer.get());
     }
 
-    private void validateSenderBalanceEnoughAndValidAmount(BigDecimal balance, BigDecimal amount) {
-        if(balance.compareTo(amount) < 0) {
-            throw new BalanceIsNotEnoughException(balance);
+    private TransactionDto transfer(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest, boolean optimistic) {
+        transferStage("validate_sender").record(() -> validateSenderAccountByCustomerIdAndAccountId(senderAccountId, senderCustomerId));
+        AccountReference receiverAccount = transferStage("lookup_receiver").record(() -> getValidatedReceiverAccountByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber()));
+        validateAmount(newMoneyTransferRequest.getAmount());
+
+        if (optimistic) {
+            transferStage("update_balances").record(() -> updateBalancesOptimistically(senderAccountId, receiverAccount, newMoneyTransferRequest.getAmount()));
+        } else {
+            transferStage("update_balances").record(() -> updateBalances(senderAccountId, receiverAccount, newMoneyTransferRequest.getAmount()));
+        }
+        TransactionEntity transactionEntity = transferStage("save_transaction").record(() -> createTransaction(senderAccountId, receiverAccount, newMoneyTransferRequest.getAmount(), newMoneyTransferRequest.getDescription()));
+        transferStage("record_ledger").record(() -> ledgerService.recordTransfer(transactionEntity));
+
+        return transferStage("map_dto").record(() -> transactionMapper.toDto(transactionEntity));
+    }
+
+    private Timer transferStage(String stage) {
+        return meterRegistry.timer(TRANSFER_STAGE_TIMER, "stage", stage);
+    }
+
+    // everything but the sender's balance, which only the transfer itself can check
+    @Transactional(readOnly = true)
+    public void validateNewTransaction(String senderCustomerId, String senderAccountId, NewMoneyTransferRequest newMoneyTransferRequest) {
+        validateSenderAccountByCustomerIdAndAccountId(senderAccountId, senderCustomerId);
+        getValidatedReceiverAccountByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber());
+        validateAmount(newMoneyTransferRequest.getAmount());
+    }
+
+    private void validateSenderAccountByCustomerIdAndAccountId(String senderAccountId, String senderCustomerId) {
+        if (!accountRepository.existsByIdAndCustomerId(senderAccountId, senderCustomerId)) {
+            throw new AccountNotFoundException(senderAccountId);
         }
+    }
+
+    private AccountReference getValidatedReceiverAccountByAccountNumber(String receiverAccountNumber) {
+        return accountLookupService.findByAccountNumber(receiverAccountNumber)
+                .orElseThrow(() -> accountNumberNotFound(receiverAccountNumber));
+    }
+
+    // Transfers applied together in one transaction take every account row they touch up front, in ascending id
+    // order like a single transfer does. Left to the transfers, the rows would be locked in arrival order, and two
+    // transactions moving money between the same accounts in opposite directions could deadlock. Hot accounts are
+    // locked too, since the slot rows their credits and sweeps take come later in the same transaction.
+    public void lockAccountsForTransfers(Collection<String> senderAccountIds, Collection<String> receiverAccountNumbers) {
+        Set<String> accountIds = new HashSet<>(senderAccountIds);
+        receiverAccountNumbers.forEach(accountNumber -> accountLookupService.findByAccountNumber(accountNumber)
+                .ifPresent(receiverAccount -> accountIds.add(receiverAccount.accountId())));
+        accountRepository.lockAllByIdIn(accountIds);
+    }
+
+    // Accounts opened before check digits keep their old numbers, so the check digit only
+    // tells a likely typo apart from an unknown account once the lookup has come back empty.
+    private RuntimeException accountNumberNotFound(String accountNumber) {
+        return AccountNumber.isValid(accountNumber)
+                ? new AccountNotFoundByNumberException(accountNumber)
+                : new InvalidAccountNumberException(accountNumber);
+    }
+
+    private void validateAmount(BigDecimal amount) {
         if(amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidAmountException();
         }
     }
 
-    private void updateBalances(AccountEntity senderAccount, AccountEntity receiverAccount, NewMoneyTransferRequest newMoneyTransferRequest) {
-        senderAccount.setBalance(senderAccount.getBalance().subtract(newMoneyTransferRequest.getAmount()));
-        receiverAccount.setBalance(receiverAccount.getBalance().add(newMoneyTransferRequest.getAmount()));
+    // Deltas are applied in ascending id order, so concurrent A->B and B->A transfers
+    // take the row locks in the same order and cannot deadlock on each other.
+    // Balance slot rows are only locked after every account row.
+    private void updateBalances(String senderAccountId, AccountReference receiverAccount, BigDecimal amount) {
+        String receiverAccountId = receiverAccount.accountId();
+        boolean debited;
+        if (receiverAccount.balanceSlots() > 0) {
+            debited = debitBalance(senderAccountId, amount);
+        } else if (senderAccountId.compareTo(receiverAccountId) <= 0) {
+            debited = debitBalance(senderAccountId, amount);
+            creditReceiverBalance(receiverAccountId, amount);
+        } else {
+            creditReceiverBalance(receiverAccountId, amount);
+            debited = debitBalance(senderAccountId, amount);
+        }
+
+        if (!debited) {
+            debitSenderBalanceAfterSweepingSlots(senderAccountId, amount);
+        }
+        if (receiverAccount.balanceSlots() > 0) {
+            balanceSlotService.credit(receiverAccountId, receiverAccount.balanceSlots(), amount);
+        }
+    }
+
+    // Both rows are read without locks and written back with a version check on flush, which fails the attempt
+    // if another transfer changed either account in the meantime. Hot accounts keep their slot credits and
+    // sweeping debits, which only work with row locks.
+    private void updateBalancesOptimistically(String senderAccountId, AccountReference receiverAccount, BigDecimal amount) {
+        if (receiverAccount.balanceSlots() > 0) {
+            updateBalances(senderAccountId, receiverAccount, amount);
+            return;
+        }
+        AccountEntity sender = accountRepository.findById(senderAccountId)
+                .orElseThrow(() -> new AccountNotFoundException(senderAccountId));
+        if (sender.getBalanceSlots() > 0) {
+            updateBalances(senderAccountId, receiverAccount, amount);
+            return;
+        }
+        AccountEntity receiver = accountRepository.findById(receiverAccount.accountId())
+                .orElseThrow(() -> new AccountNotFoundException(receiverAccount.accountId()));
+        if (sender.getBalance().compareTo(amount) < 0) {
+            throw new BalanceIsNotEnoughException(sender.getBalance());
+        }
+
+        sender.setBalance(sender.getBalance().subtract(amount));
+        receiver.setBalance(receiver.getBalance().add(amount));
+        accountRepository.flush();
+    }
+
+    private boolean debitBalance(String accountId, BigDecimal amount) {
+        return accountRepository.debitBalance(accountId, amount) > 0;
+    }
+
+    // a hot account's credits stay in its slots until a debit needs them
+    private void debitSenderBalanceAfterSweepingSlots(String senderAccountId, BigDecimal amount) {
+        if (!balanceSlotService.sweepIntoBalance(senderAccountId) || !debitBalance(senderAccountId, amount)) {
+            BigDecimal balance = accountRepository.findBalanceById(senderAccountId).orElse(BigDecimal.ZERO);
+            throw new BalanceIsNotEnoughException(balance);
+        }
+    }
 
-        accountRepository.save(senderAccount);
-        accountRepository.save(receiverAccount);
+    private void creditReceiverBalance(String receiverAccountId, BigDecimal amount) {
+        if (accountRepository.creditBalance(receiverAccountId, amount) == 0) {
+            throw new AccountNotFoundException(receiverAccountId);
+        }
     }
 
-    private TransactionEntity createTransaction(String senderAccountId, String receiverAccountId, BigDecimal amount, String description) {
+    // The balances are read while this transaction still holds both account rows, so they are exactly
+    // what the transfer left behind and no later transfer can be dated before them.
+    private TransactionEntity createTransaction(String senderAccountId, AccountReference receiverAccount, BigDecimal amount, String description) {
+        BigDecimal receiverBalanceAfter = receiverAccount.balanceSlots() > 0
+                ? null
+                : accountRepository.findBalanceWithoutSlotsById(receiverAccount.accountId()).orElse(null);
         TransactionEntity transaction = TransactionEntity
                 .builder()
                 .senderAccountId(senderAccountId)
-                .receiverAccountId(receiverAccountId)
+                .receiverAccountId(receiverAccount.accountId())
                 .transactionType(TransactionType.TRANSFER)
                 .amount(amount)
                 .description(description)
+                .senderBalanceAfter(accountRepository.findBalanceWithoutSlotsById(senderAccountId).orElse(null))
+                .receiverBalanceAfter(receiverBalanceAfter)
                 .build();
 
         return transactionRepository.save(transaction);
     }
 
-    public List<TransactionDto> getAllTransactions(String accountId, String customerId) {
+    public List<TransactionDto> addNewTransactions(String senderCustomerId, String senderAccountId, List<NewMoneyTransferRequest> newMoneyTransferRequests) {
+        return transactionTemplate.execute(status -> transferBatch(senderCustomerId, senderAccountId, newMoneyTransferRequests));
+    }
+
+    private List<TransactionDto> transferBatch(String senderCustomerId, String senderAccountId, List<NewMoneyTransferRequest> newMoneyTransferRequests) {
+        validateBatchSize(newMoneyTransferRequests.size());
+        validateSenderAccountByCustomerIdAndAccountId(senderAccountId, senderCustomerId);
+        newMoneyTransferRequests.forEach(request -> validateAmount(request.getAmount()));
+        Map<String, AccountEntity> receiverAccountsByNumber = getValidatedReceiverAccountsByAccountNumber(newMoneyTransferRequests);
+
+        List<TransactionEntity> transactions = newMoneyTransferRequests.stream()
+                .map(request -> TransactionEntity
+                        .builder()
+                        .senderAccountId(senderAccountId)
+                        .receiverAccountId(receiverAccountsByNumber.get(request.getReceiverAccountNumber()).getId())
+                        .transactionType(TransactionType.TRANSFER)
+                        .amount(request.getAmount())
+                        .description(request.getDescription())
+                        .build())
+                .collect(Collectors.toList());
+
+        Map<String, BigDecimal> balanceDeltas = applyBalanceDeltas(transactions, receiverAccountsByNumber.values());
+        setBalancesAfter(transactions, balanceDeltas);
+
+        List<TransactionEntity> savedTransactions = transactionRepository.saveAll(transactions);
+        ledgerService.recordTransfers(savedTransactions);
+
+        return savedTransactions.stream()
+                .map(transactionMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private void validateBatchSize(int batchSize) {
+        if (batchSize == 0 || batchSize > MAX_BATCH_TRANSFER_SIZE) {
+            throw new InvalidBatchSizeException(MAX_BATCH_TRANSFER_SIZE);
+        }
+    }
+
+    private Map<String, AccountEntity> getValidatedReceiverAccountsByAccountNumber(List<NewMoneyTransferRequest> newMoneyTransferRequests) {
+        Set<String> receiverAccountNumbers = newMoneyTransferRequests.stream()
+                .map(NewMoneyTransferRequest::getReceiverAccountNumber)
+                .collect(Collectors.toSet());
+
+        Map<String, AccountEntity> receiverAccountsByNumber = accountRepository.findAllByAccountNumberIn(receiverAccountNumbers).stream()
+                .collect(Collectors.toMap(AccountEntity::getAccountNumber, Function.identity()));
+
+        receiverAccountNumbers.stream()
+                .filter(accountNumber -> !receiverAccountsByNumber.containsKey(accountNumber))
+                .findFirst()
+                .ifPresent(accountNumber -> {
+                    throw accountNumberNotFound(accountNumber);
+                });
+
+        return receiverAccountsByNumber;
+    }
+
+    // Each account gets one net delta, applied in ascending id order like single transfers,
+    // so the sender is debited once for the whole batch. Hot account credits go to their slots last.
+    private Map<String, BigDecimal> applyBalanceDeltas(List<TransactionEntity> transactions, Collection<AccountEntity> receiverAccounts) {
+        Map<String, BigDecimal> balanceDeltas = new TreeMap<>();
+        for (TransactionEntity transaction : transactions) {
+            balanceDeltas.merge(transaction.getSenderAccountId(), transaction.getAmount().negate(), BigDecimal::add);
+            balanceDeltas.merge(transaction.getReceiverAccountId(), transaction.getAmount(), BigDecimal::add);
+        }
+        Map<String, Integer> balanceSlotsByAccountId = receiverAccounts.stream()
+                .filter(account -> account.getBalanceSlots() > 0)
+                .collect(Collectors.toMap(AccountEntity::getId, AccountEntity::getBalanceSlots));
+
+        Map<String, BigDecimal> uncoveredDebits = new TreeMap<>();
+        balanceDeltas.forEach((accountId, delta) -> {
+            if (delta.signum() < 0 && !debitBalance(accountId, delta.negate())) {
+                uncoveredDebits.put(accountId, delta.negate());
+            } else if (delta.signum() > 0 && !balanceSlotsByAccountId.containsKey(accountId)) {
+                creditReceiverBalance(accountId, delta);
+            }
+        });
+        uncoveredDebits.forEach(this::debitSenderBalanceAfterSweepingSlots);
+        balanceSlotsByAccountId.forEach((accountId, balanceSlots) -> {
+            BigDecimal delta = balanceDeltas.get(accountId);
+            if (delta.signum() > 0) {
+                balanceSlotService.credit(accountId, balanceSlots, delta);
+            }
+        });
+        return balanceDeltas;
+    }
+
+    // The batch moves each account once, so the balance before it is the final one minus the net delta
+    // and every transfer's balances follow by replaying the batch in order.
+    private void setBalancesAfter(List<TransactionEntity> transactions, Map<String, BigDecimal> balanceDeltas) {
+        Map<String, BigDecimal> runningBalances = new HashMap<>();
+        for (AccountBalance accountBalance : accountRepository.findAllBalancesWithoutSlotsByIdIn(balanceDeltas.keySet())) {
+            runningBalances.put(accountBalance.accountId(), accountBalance.balance().subtract(balanceDeltas.get(accountBalance.accountId())));
+        }
+        for (TransactionEntity transaction : transactions) {
+            runningBalances.computeIfPresent(transaction.getSenderAccountId(), (accountId, balance) -> balance.subtract(transaction.getAmount()));
+            runningBalances.computeIfPresent(transaction.getReceiverAccountId(), (accountId, balance) -> balance.add(transaction.getAmount()));
+            transaction.setSenderBalanceAfter(runningBalances.get(transaction.getSenderAccountId()));
+            transaction.setReceiverBalanceAfter(runningBalances.get(transaction.getReceiverAccountId()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionHistoryResponse getTransactionHistory(String accountId, String customerId, String cursor, Integer pageSize) {
         accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
 
-        List<TransactionEntity> transactions = transactionRepository.findAllByAccountId(accountId);
+        int limit = resolveHistoryPageSize(pageSize);
+        List<TransactionEntity> transactions = findTransactionHistoryPage(accountId, cursor, limit + 1);
+
+        boolean hasNextPage = transactions.size() > limit;
+        List<TransactionEntity> page = hasNextPage ? transactions.subList(0, limit) : transactions;
+        String nextCursor = hasNextPage ? toCursor(page.getLast()).encode() : null;
 
-        return  transactions.stream()
-                .map(transaction -> modelMapper.map(transaction, TransactionDto.class))
+        List<TransactionDto> transactionDtos = page.stream()
+                .map(transactionMapper::toDto)
                 .collect(Collectors.toList());
+
+        return new TransactionHistoryResponse(transactionDtos, nextCursor);
+    }
+
+    // Walks the history with the same sender and receiver range scans as the paged history, so the export
+    // never sorts all of an account's transactions and holds one page at a time.
+    @Transactional(readOnly = true)
+    public void streamTransactionHistory(String accountId, String customerId, Consumer<TransactionDto> consumer) {
+        accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
+
+        List<TransactionEntity> page = transactionRepository.findLatestByAccountId(accountId, HISTORY_STREAM_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            page.forEach(transaction -> {
+                consumer.accept(transactionMapper.toDto(transaction));
+                entityManager.detach(transaction);
+            });
+            if (page.size() < HISTORY_STREAM_PAGE_SIZE) {
+                return;
+            }
+            TransactionEntity last = page.getLast();
+            page = transactionRepository.findByAccountIdBefore(accountId, last.getDate(), last.getId(), HISTORY_STREAM_PAGE_SIZE);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceAsOfResponse getBalanceAsOf(String accountId, String customerId, LocalDateTime asOf) {
+        accountValidateService.retrieveAndValidateAccountByIdAndCustomerId(accountId, customerId);
+
+        return new BalanceAsOfResponse(accountId, asOf, findBalanceAsOf(accountId, asOf));
+    }
+
+    // Hot accounts and transfers made before balances were recorded fall back to summing the ledger.
+    @Transactional(readOnly = true)
+    public BigDecimal findBalanceAsOf(String accountId, LocalDateTime asOf) {
+        Optional<TransactionEntity> latestTransaction = transactionRepository.findLatestByAccountIdAsOf(accountId, asOf);
+        if (latestTransaction.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        TransactionEntity transaction = latestTransaction.get();
+        BigDecimal balance = accountId.equals(transaction.getSenderAccountId())
+                ? transaction.getSenderBalanceAfter()
+                : transaction.getReceiverBalanceAfter();
+        return balance == null ? ledgerService.getBalanceAsOf(accountId, asOf) : balance;
+    }
+
+    private int resolveHistoryPageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_HISTORY_PAGE_SIZE;
+        }
+        return Math.clamp(pageSize, 1, MAX_HISTORY_PAGE_SIZE);
+    }
+
+    private List<TransactionEntity> findTransactionHistoryPage(String accountId, String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return transactionRepository.findLatestByAccountId(accountId, limit);
+        }
+        TransactionHistoryCursor historyCursor = TransactionHistoryCursor.decode(cursor);
+        return transactionRepository.findByAccountIdBefore(accountId, historyCursor.date(), historyCursor.id(), limit);
+    }
+
+    private TransactionHistoryCursor toCursor(TransactionEntity transaction) {
+        return new TransactionHistoryCursor(transaction.getDate(), transaction.getId());
     }
 }
@@ -0,0 +1,9 @@
+-- Creates the indexes behind account lookups and the paged transaction history. Each history query reads one
+-- range of a sender or receiver index in date order instead of sorting every transaction of the account.
+-- Run before V02__binary_uuid_ids.sql, which rebuilds these indexes on the converted columns.
+
+CREATE UNIQUE INDEX uk_account_account_number ON account (account_number);
+CREATE INDEX idx_account_customer_id ON account (customer_id);
+
+CREATE INDEX idx_transaction_sender_account_date ON transaction (sender_account_id, date, id);
+CREATE INDEX idx_transaction_receiver_account_date ON transaction (receiver_account_id, date, id);
@@ -0,0 +1,37 @@
+-- Moves UUID keys stored as 36 character strings to BINARY(16) for MySQL 8.0+.
+-- Existing ids keep their value (UUID_TO_BIN without swapping), so ids already handed out in URLs and tokens stay valid;
+-- rows inserted afterwards get time-ordered UUIDv7 ids. Run with the application stopped and a backup taken.
+
+ALTER TABLE customer ADD COLUMN id_bin BINARY(16);
+UPDATE customer SET id_bin = UUID_TO_BIN(id);
+ALTER TABLE customer DROP PRIMARY KEY, DROP COLUMN id;
+ALTER TABLE customer CHANGE COLUMN id_bin id BINARY(16) NOT NULL, ADD PRIMARY KEY (id);
+
+ALTER TABLE account ADD COLUMN id_bin BINARY(16), ADD COLUMN customer_id_bin BINARY(16);
+UPDATE account SET id_bin = UUID_TO_BIN(id), customer_id_bin = UUID_TO_BIN(customer_id);
+ALTER TABLE account DROP PRIMARY KEY, DROP INDEX idx_account_customer_id, DROP COLUMN id, DROP COLUMN customer_id;
+ALTER TABLE account
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL,
+    CHANGE COLUMN customer_id_bin customer_id BINARY(16),
+    ADD PRIMARY KEY (id),
+    ADD INDEX idx_account_customer_id (customer_id);
+
+ALTER TABLE transaction ADD COLUMN id_bin BINARY(16), ADD COLUMN sender_account_id_bin BINARY(16), ADD COLUMN receiver_account_id_bin BINARY(16);
+UPDATE transaction
+SET id_bin = UUID_TO_BIN(id),
+    sender_account_id_bin = UUID_TO_BIN(sender_account_id),
+    receiver_account_id_bin = UUID_TO_BIN(receiver_account_id);
+ALTER TABLE transaction
+    DROP PRIMARY KEY,
+    DROP INDEX idx_transaction_sender_account_date,
+    DROP INDEX idx_transaction_receiver_account_date,
+    DROP COLUMN id,
+    DROP COLUMN sender_account_id,
+    DROP COLUMN receiver_account_id;
+ALTER TABLE transaction
+    CHANGE COLUMN id_bin id BINARY(16) NOT NULL,
+    CHANGE COLUMN sender_account_id_bin sender_account_id BINARY(16),
+    CHANGE COLUMN receiver_account_id_bin receiver_account_id BINARY(16),
+    ADD PRIMARY KEY (id),
+    ADD INDEX idx_transaction_sender_account_date (sender_account_id, date, id),
+    ADD INDEX idx_transaction_receiver_account_date (receiver_account_id, date, id);
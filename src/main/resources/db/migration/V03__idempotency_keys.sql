@@ -0,0 +1,13 @@
+-- Creates the table behind the Idempotency-Key header. The unique key makes a concurrent retry with the
+-- same key fail on insert instead of transferring twice; created_at drives the purge of expired keys.
+
+CREATE TABLE idempotency_key (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    customer_id BINARY(16) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    transaction_id BINARY(16),
+    created_at DATETIME(6),
+    UNIQUE KEY uk_idempotency_key_customer_key (customer_id, idempotency_key),
+    KEY idx_idempotency_key_created_at (created_at)
+);
@@ -0,0 +1,7 @@
+-- Creates the shared counter that account number blocks are reserved from. The first allocation inserts
+-- the account_number row, so accounts opened earlier keep their numbers and new ones start at a fresh serial range.
+
+CREATE TABLE account_number_sequence (
+    name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
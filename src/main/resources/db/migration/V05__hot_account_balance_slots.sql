@@ -0,0 +1,12 @@
+-- Adds the hot account flag and the slot rows that take a hot account's credits. Accounts keep 0 balance
+-- slots, so transfers behave as before until an account is listed in bank-app.hot-accounts.account-numbers.
+
+ALTER TABLE account ADD COLUMN balance_slots INT NOT NULL DEFAULT 0;
+
+CREATE TABLE account_balance_slot (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    account_id BINARY(16) NOT NULL,
+    slot INT NOT NULL,
+    balance DECIMAL(38, 2) NOT NULL,
+    UNIQUE KEY uk_account_balance_slot_account_slot (account_id, slot)
+);
@@ -0,0 +1,23 @@
+-- Creates the append-only ledger and the per-account balance snapshots folded from it. entry_sequence is
+-- numbered by the database, so postings from every node share one order that snapshots can resume from.
+-- Run V07__ledger_backfill.sql afterwards to post the transactions made before the ledger existed.
+
+CREATE TABLE ledger_entry (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    entry_sequence BIGINT NOT NULL AUTO_INCREMENT,
+    account_id BINARY(16) NOT NULL,
+    transaction_id BINARY(16) NOT NULL,
+    entry_type VARCHAR(32) NOT NULL,
+    amount DECIMAL(38, 2) NOT NULL,
+    created_at DATETIME(6),
+    UNIQUE KEY uk_ledger_entry_entry_sequence (entry_sequence),
+    KEY idx_ledger_entry_account_sequence (account_id, entry_sequence),
+    KEY idx_ledger_entry_created_at (created_at)
+);
+
+CREATE TABLE account_balance_snapshot (
+    account_id BINARY(16) NOT NULL PRIMARY KEY,
+    balance DECIMAL(38, 2) NOT NULL,
+    last_entry_sequence BIGINT NOT NULL,
+    updated_at DATETIME(6)
+);
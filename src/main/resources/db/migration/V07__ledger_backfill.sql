@@ -0,0 +1,24 @@
+-- Backfills the ledger for transactions made before postings were written: every transfer gets its debit and
+-- credit and every initial deposit its credit, dated like the transaction and numbered oldest first. Balances
+-- and as-of lookups then come from the full history instead of an undated opening balance, and the snapshot
+-- job folds the postings on its next run. Run with the application stopped, after V06__ledger.sql.
+
+INSERT INTO ledger_entry (id, account_id, transaction_id, entry_type, amount, created_at)
+SELECT UNHEX(REPLACE(UUID(), '-', '')), account_id, transaction_id, entry_type, amount, created_at
+FROM (
+    SELECT receiver_account_id AS account_id, id AS transaction_id, 'CREDIT' AS entry_type, amount, date AS created_at, 1 AS leg
+    FROM transaction
+    UNION ALL
+    SELECT sender_account_id, id, 'DEBIT', -amount, date, 0
+    FROM transaction WHERE transaction_type = 'TRANSFER'
+) postings
+WHERE transaction_id NOT IN (SELECT transaction_id FROM ledger_entry)
+ORDER BY created_at, transaction_id, leg;
+
+-- Lists accounts whose stored balance (including balance slots) does not match their transactions.
+-- It should return no rows; any account it lists needs a correcting transaction.
+SELECT a.id, a.balance + COALESCE(s.balance, 0) AS balance, COALESCE(l.balance, 0) AS ledger_balance
+FROM account a
+LEFT JOIN (SELECT account_id, SUM(balance) AS balance FROM account_balance_slot GROUP BY account_id) s ON s.account_id = a.id
+LEFT JOIN (SELECT account_id, SUM(amount) AS balance FROM ledger_entry GROUP BY account_id) l ON l.account_id = a.id
+WHERE a.balance + COALESCE(s.balance, 0) <> COALESCE(l.balance, 0);
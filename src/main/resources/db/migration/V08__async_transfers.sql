@@ -0,0 +1,11 @@
+-- Creates the outcome table of asynchronous transfers. A row is written once a journaled transfer is applied
+-- or rejected; a transfer without a row is still pending in the journal.
+
+CREATE TABLE async_transfer (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    sender_account_id BINARY(16) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    transaction_id BINARY(16),
+    failure_reason VARCHAR(255),
+    completed_at DATETIME(6)
+);
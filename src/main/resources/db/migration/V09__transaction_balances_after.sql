@@ -0,0 +1,30 @@
+-- Adds the balances each transfer leaves behind and backfills them by replaying every account's
+-- transactions oldest first. A self-transfer is one movement of zero, so both of its columns match.
+-- Run with the application stopped.
+
+ALTER TABLE transaction
+    ADD COLUMN sender_balance_after DECIMAL(38, 2) NULL,
+    ADD COLUMN receiver_balance_after DECIMAL(38, 2) NULL;
+
+CREATE TEMPORARY TABLE transaction_balance_after AS
+SELECT id, side, SUM(delta) OVER (PARTITION BY account_id ORDER BY date, id) AS balance_after
+FROM (
+    SELECT id, date, sender_account_id AS account_id, -amount AS delta, 'SENDER' AS side
+    FROM transaction WHERE transaction_type = 'TRANSFER'
+    UNION ALL
+    SELECT id, date, receiver_account_id, amount, 'RECEIVER'
+    FROM transaction WHERE transaction_type = 'TRANSFER'
+    UNION ALL
+    SELECT id, date, receiver_account_id, amount, 'INITIAL'
+    FROM transaction WHERE transaction_type = 'INITIAL'
+) movements;
+
+UPDATE transaction t
+JOIN transaction_balance_after b ON b.id = t.id AND b.side IN ('SENDER', 'INITIAL')
+SET t.sender_balance_after = b.balance_after;
+
+UPDATE transaction t
+JOIN transaction_balance_after b ON b.id = t.id AND b.side IN ('RECEIVER', 'INITIAL')
+SET t.receiver_balance_after = b.balance_after;
+
+DROP TEMPORARY TABLE transaction_balance_after;
@@ -0,0 +1,22 @@
+-- Creates the daily account summaries and the watermark of the job that maintains them. The watermark starts
+-- at the epoch, so the first run summarizes every existing transaction, which the new date index keeps to one scan.
+
+CREATE INDEX idx_transaction_date ON transaction (date);
+
+CREATE TABLE account_daily_summary (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    account_id BINARY(16) NOT NULL,
+    summary_day DATE NOT NULL,
+    credits DECIMAL(38, 2) NOT NULL,
+    debits DECIMAL(38, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    closing_balance DECIMAL(38, 2) NOT NULL,
+    UNIQUE KEY uk_account_daily_summary_account_day (account_id, summary_day)
+);
+
+CREATE TABLE aggregation_watermark (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    processed_until DATETIME(6) NOT NULL
+);
+
+INSERT INTO aggregation_watermark (name, processed_until) VALUES ('account_daily_summary', '1970-01-01 00:00:00');
@@ -0,0 +1,4 @@
+-- Adds the version columns behind optimistic locking and the ETags of accounts and customers.
+
+ALTER TABLE account ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE customer ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- Seeds the watermark of the ledger snapshot job in the aggregation_watermark table from V10__account_daily_summaries.sql.
+-- It starts at the epoch, so the first run folds every existing posting into the snapshots.
+
+INSERT INTO aggregation_watermark (name, processed_until) VALUES ('account_balance_snapshot', '1970-01-01 00:00:00');
@@ -0,0 +1,52 @@
+package com.example.bank_app.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccountNumberTest {
+
+    @Test
+    @DisplayName("Should build a 16 digit number with a Luhn check digit from the serial.")
+    void shouldBuildSixteenDigitNumberWithLuhnCheckDigit() {
+        assertThat(AccountNumber.fromSerial(0)).isEqualTo("0000000000000000");
+        assertThat(AccountNumber.fromSerial(7992739871L)).isEqualTo("0000079927398713");
+        assertThat(AccountNumber.fromSerial(AccountNumber.MAX_SERIAL)).hasSize(16).startsWith("999999999999999");
+    }
+
+    @Test
+    @DisplayName("Should accept every number built from a serial.")
+    void shouldAcceptNumbersBuiltFromSerial() {
+        for (long serial = 100_000_000_000_000L; serial < 100_000_000_010_000L; serial++) {
+            assertThat(AccountNumber.isValid(AccountNumber.fromSerial(serial))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a number with any single mistyped digit.")
+    void shouldRejectNumberWithSingleMistypedDigit() {
+        String accountNumber = AccountNumber.fromSerial(123_456_789_012_345L);
+
+        for (int position = 0; position < accountNumber.length(); position++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit == accountNumber.charAt(position)) {
+                    continue;
+                }
+                String mistyped = accountNumber.substring(0, position) + digit + accountNumber.substring(position + 1);
+                assertThat(AccountNumber.isValid(mistyped)).as(mistyped).isFalse();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject numbers with the wrong length or non-digit characters.")
+    void shouldRejectMalformedNumbers() {
+        assertThat(AccountNumber.isValid(null)).isFalse();
+        assertThat(AccountNumber.isValid("")).isFalse();
+        assertThat(AccountNumber.isValid("00000000000000000")).isFalse();
+        assertThat(AccountNumber.isValid("000000000000000a")).isFalse();
+        assertThatThrownBy(() -> AccountNumber.fromSerial(AccountNumber.MAX_SERIAL + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
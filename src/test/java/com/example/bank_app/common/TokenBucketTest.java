@@ -0,0 +1,70 @@
+package com.example.bank_app.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Should grant a full burst and then refuse with the time until the next token.")
+    void shouldGrantBurstThenRefuseWithWaitTime() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(60));
+    }
+
+    @Test
+    @DisplayName("Should refill one token per emission interval up to the capacity.")
+    void shouldRefillAtRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire()).isZero();
+        }
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should grant exactly the capacity when many threads race for the same tokens.")
+    void shouldGrantExactlyCapacity_whenThreadsRace() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 1_000, clock::get);
+        AtomicInteger granted = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.submit(() -> {
+                if (bucket.tryAcquire() == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.bank_app.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferJournalTest {
+
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should recover every appended transfer in order when the journal is reopened.")
+    void shouldRecoverAppendedTransfersInOrder() throws IOException {
+        Path path = directory.resolve("journal.log");
+        JournaledTransfer first = transfer("first", "first description");
+        JournaledTransfer second = transfer("second", null);
+
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            assertThat(journal.getRecoveredTransfers()).isEmpty();
+            journal.append(first);
+            journal.append(second);
+        }
+
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            assertThat(journal.getRecoveredTransfers()).containsExactly(first, second);
+        }
+    }
+
+    @Test
+    @DisplayName("Should cut off a record torn by a crash and keep appending after the last complete record.")
+    void shouldCutOffTornRecord_whenJournalIsReopened() throws IOException {
+        Path path = directory.resolve("journal.log");
+        JournaledTransfer first = transfer("first", "first description");
+
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            journal.append(first);
+            journal.append(transfer("torn", "torn description"));
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("journal.log.1").toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        JournaledTransfer third = transfer("third", null);
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            assertThat(journal.getRecoveredTransfers()).containsExactly(first);
+            journal.append(third);
+        }
+
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            assertThat(journal.getRecoveredTransfers()).containsExactly(first, third);
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete a full segment once every transfer in it is released and keep the segment being written.")
+    void shouldDeleteSegment_whenEveryTransferInItIsReleased() throws IOException {
+        Path path = directory.resolve("journal.log");
+
+        try (TransferJournal journal = new TransferJournal(path, 1)) {
+            journal.append(transfer("first", null));
+            journal.append(transfer("second", null));
+            assertThat(journal.segmentCount()).isEqualTo(3);
+
+            journal.release("second");
+            assertThat(journal.segmentCount()).isEqualTo(2);
+
+            journal.release("first");
+            assertThat(journal.segmentCount()).isEqualTo(1);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover only the unreleased transfers of a segmented journal when it is reopened.")
+    void shouldRecoverUnreleasedTransfers_whenSegmentsWereDeleted() throws IOException {
+        Path path = directory.resolve("journal.log");
+        JournaledTransfer unreleased = transfer("unreleased", null);
+
+        try (TransferJournal journal = new TransferJournal(path, 1)) {
+            journal.append(transfer("released", null));
+            journal.append(unreleased);
+            journal.release("released");
+        }
+
+        try (TransferJournal journal = new TransferJournal(path, 1)) {
+            assertThat(journal.getRecoveredTransfers()).containsExactly(unreleased);
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover a journal written before segments as the oldest segment.")
+    void shouldRecoverUnsegmentedJournal_whenOpenedWithSegments() throws IOException {
+        Path path = directory.resolve("journal.log");
+        JournaledTransfer legacy = transfer("legacy", null);
+        JournaledTransfer segmented = transfer("segmented", null);
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            journal.append(legacy);
+        }
+        Files.move(directory.resolve("journal.log.1"), path);
+
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            journal.append(segmented);
+        }
+        try (TransferJournal journal = new TransferJournal(path, SEGMENT_BYTES)) {
+            assertThat(journal.getRecoveredTransfers()).containsExactly(legacy, segmented);
+            journal.release("legacy");
+        }
+        assertThat(path).doesNotExist();
+    }
+
+    private JournaledTransfer transfer(String transferId, String description) {
+        return new JournaledTransfer(transferId, "customerId", "senderAccountId", new BigDecimal("12.50"),
+                AccountNumber.fromSerial(1), description);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bank_app.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    @DisplayName("Should generate version 7 ids carrying the current time.")
+    void shouldGenerateVersion7Ids_withCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids in both string and binary form.")
+    void shouldGenerateStrictlyIncreasingIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.generate().toString());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+            assertThat(Arrays.compareUnsigned(UuidBinaryType.toBytes(ids.get(i)), UuidBinaryType.toBytes(ids.get(i - 1)))).isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("Should round trip ids through the binary form.")
+    void shouldRoundTripIdsThroughBinaryForm() {
+        String id = UuidV7Generator.generate().toString();
+
+        assertThat(UuidBinaryType.toBytes(id)).hasSize(16);
+        assertThat(UuidBinaryType.fromBytes(UuidBinaryType.toBytes(id))).isEqualTo(id);
+        assertThat(UuidBinaryType.fromBytes(UuidBinaryType.toBytes("not-a-uuid"))).isEqualTo(new UUID(0, 0).toString());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.exception.RateLimitExceededException;
+import com.example.bank_app.exception.ServerBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitInterceptorTest {
+
+    @Mock
+    private HikariDataSource connectionPool;
+
+    @Mock
+    private HikariPoolMXBean poolMXBean;
+
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitInterceptor = new RateLimitInterceptor(List.of(connectionPool), 0.1, 2, 0.1, 1, 5, Duration.ofSeconds(3));
+        when(connectionPool.getHikariPoolMXBean()).thenReturn(poolMXBean);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should refuse with a retry delay when a customer's read budget is spent, while writes keep their own budget.")
+    void shouldRefuseReads_whenReadBudgetSpentButStillAllowWrites() {
+        authenticate("customerId");
+
+        assertThat(handle("GET")).isTrue();
+        assertThat(handle("GET")).isTrue();
+        assertThatThrownBy(() -> handle("GET"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, ex -> assertThat(ex.getRetryAfterSeconds()).isBetween(1L, 10L));
+
+        assertThat(handle("POST")).isTrue();
+        assertThatThrownBy(() -> handle("DELETE")).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets for each customer.")
+    void shouldKeepSeparateBudgetsPerCustomer() {
+        authenticate("firstCustomerId");
+        handle("POST");
+        assertThatThrownBy(() -> handle("POST")).isInstanceOf(RateLimitExceededException.class);
+
+        authenticate("secondCustomerId");
+        assertThat(handle("POST")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should shed requests when too many threads are waiting for a database connection.")
+    void shouldShedRequests_whenConnectionPoolSaturated() {
+        authenticate("customerId");
+        when(poolMXBean.getThreadsAwaitingConnection()).thenReturn(5);
+
+        assertThatThrownBy(() -> handle("GET"))
+                .isInstanceOfSatisfying(ServerBusyException.class, ex -> assertThat(ex.getRetryAfterSeconds()).isEqualTo(3));
+    }
+
+    private boolean handle(String method) {
+        return rateLimitInterceptor.preHandle(new MockHttpServletRequest(method, "/accounts"), new MockHttpServletResponse(), new Object());
+    }
+
+    private void authenticate(String customerId) {
+        CustomerEntity customer = CustomerEntity.builder().id(customerId).build();
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(customer, null, List.of()));
+    }
+}
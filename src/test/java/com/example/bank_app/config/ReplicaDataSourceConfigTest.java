@@ -0,0 +1,83 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.service.AccountDatabaseTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the replica pool points at the same H2 database, so only the pool that served a read tells the routes apart
+@SpringBootTest(properties = {
+        "bank-app.replica.datasource.jdbc-url=jdbc:h2:mem:bank_app;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "bank-app.replica.datasource.username=sa"
+})
+public class ReplicaDataSourceConfigTest extends AccountDatabaseTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String customerId;
+    private AccountDto payer;
+    private AccountDto payee;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        payer = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(100)));
+        payee = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.ZERO));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                CustomerEntity.builder().id(customerId).build(), null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should serve read-only service methods from the replica pool.")
+    void shouldServeReadOnlyServiceMethodsFromReplica() {
+        double replicaReads = replicaConnectionsUsed();
+
+        assertThat(accountService.getAllAccounts(customerId)).hasSize(2);
+
+        assertThat(replicaConnectionsUsed()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    @DisplayName("Should serve a customer's reads from the primary right after their own transfer.")
+    void shouldServeReadsFromPrimary_whenCustomerJustTransferred() {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(payee.getAccountNumber())
+                .build();
+        transactionService.addNewTransaction(customerId, payer.getId(), request);
+        double replicaReads = replicaConnectionsUsed();
+
+        AccountDto account = accountService.getAccountByIdAndCustomerId(payee.getId(), customerId);
+
+        assertThat(account.getBalance()).isEqualByComparingTo(BigDecimal.TEN);
+        assertThat(replicaConnectionsUsed()).isEqualTo(replicaReads);
+    }
+
+    private double replicaConnectionsUsed() {
+        return meterRegistry.find("hikaricp.connections.usage").tag("pool", "bank-app-replica").timers().stream()
+                .mapToDouble(timer -> timer.count())
+                .sum();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bank_app.config;
+
+import com.example.bank_app.entity.CustomerEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String READ_ONLY_SERVICE_METHOD = "com.example.bank_app.service.AccountService.getAllAccounts";
+    private static final String WRITING_SERVICE_METHOD = "com.example.bank_app.service.TransactionService.addNewTransaction";
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, new ReadYourWritesWindow(Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should read from the replica when a read-only service method runs.")
+    void shouldReadFromReplica_whenReadOnlyServiceMethodRuns() throws SQLException {
+        authenticate("customerId");
+        beginTransaction(READ_ONLY_SERVICE_METHOD, true);
+
+        routingDataSource.getConnection();
+
+        verify(replicaDataSource).getConnection();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should use the primary when a read-only transaction is started outside the service layer.")
+    void shouldUsePrimary_whenReadOnlyTransactionStartedOutsideServiceLayer() throws SQLException {
+        beginTransaction("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById", true);
+
+        routingDataSource.getConnection();
+
+        verify(primaryDataSource).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should use the primary when the transaction writes or there is no transaction.")
+    void shouldUsePrimary_whenTransactionWritesOrNoTransaction() throws SQLException {
+        routingDataSource.getConnection();
+        beginTransaction(WRITING_SERVICE_METHOD, false);
+        routingDataSource.getConnection();
+
+        verify(primaryDataSource, times(2)).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should keep a customer's reads on the primary when their own write committed within the window.")
+    void shouldKeepReadsOnPrimary_whenCustomerWroteWithinWindow() throws SQLException {
+        authenticate("writerCustomerId");
+        beginTransaction(WRITING_SERVICE_METHOD, false);
+        routingDataSource.getConnection();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clear();
+
+        beginTransaction(READ_ONLY_SERVICE_METHOD, true);
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.clear();
+
+        authenticate("otherCustomerId");
+        beginTransaction(READ_ONLY_SERVICE_METHOD, true);
+        routingDataSource.getConnection();
+
+        verify(primaryDataSource, times(2)).getConnection();
+        verify(replicaDataSource).getConnection();
+    }
+
+    private void authenticate(String customerId) {
+        CustomerEntity customer = CustomerEntity.builder().id(customerId).build();
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(customer, null, List.of()));
+    }
+
+    private void beginTransaction(String name, boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+}
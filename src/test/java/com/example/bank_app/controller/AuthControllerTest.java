@@ -0,0 +1,79 @@
+package com.example.bank_app.controller;
+
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.repository.CustomerRepository;
+import com.example.bank_app.service.AuthTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuthControllerTest {
+
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    private CustomerEntity customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(CustomerEntity
+                .builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should issue a token when the request is authenticated with email and password.")
+    void shouldIssueToken_whenAuthenticatedWithPassword() throws Exception {
+        mockMvc.perform(post("/auth/token").with(httpBasic(customer.getEmail(), PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse to issue a token when the request is authenticated with a bearer token.")
+    void shouldRefuseToIssueToken_whenAuthenticatedWithBearerToken() throws Exception {
+        String bearer = "Bearer " + authTokenService.issueToken(customer).getAccessToken();
+
+        mockMvc.perform(get("/customers/me").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/token").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.bank_app.controller;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.repository.CustomerRepository;
+import com.example.bank_app.service.AccountDatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+public class ConditionalGetTest extends AccountDatabaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private CustomerEntity customer;
+    private AccountDto account;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(CustomerEntity
+                .builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .build());
+        account = accountService.addNewAccount(customer.getId(), newAccountRequest(BigDecimal.valueOf(100)));
+    }
+
+    @AfterEach
+    void deleteCustomers() {
+        customerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without a body when the client already holds the account's current ETag.")
+    void shouldAnswerNotModified_whenAccountETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/accounts/{accountId}", account.getId()).with(user(customer)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/accounts/{accountId}", account.getId()).with(user(customer)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should answer 200 with a new ETag when a transfer changed the account.")
+    void shouldAnswerWithNewETag_whenTransferChangedAccount() throws Exception {
+        String accountsETag = mockMvc.perform(get("/accounts").with(user(customer)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        String historyETag = mockMvc.perform(get("/accounts/{accountId}/transaction-history", account.getId()).with(user(customer)))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        AccountDto payee = accountService.addNewAccount(UUID.randomUUID().toString(), newAccountRequest(BigDecimal.ZERO));
+        transactionService.addNewTransaction(customer.getId(), account.getId(), NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(payee.getAccountNumber())
+                .build());
+
+        String newAccountsETag = mockMvc.perform(get("/accounts").with(user(customer)).header(HttpHeaders.IF_NONE_MATCH, accountsETag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        String newHistoryETag = mockMvc.perform(get("/accounts/{accountId}/transaction-history", account.getId()).with(user(customer)).header(HttpHeaders.IF_NONE_MATCH, historyETag))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertThat(newAccountsETag).isNotEqualTo(accountsETag);
+        assertThat(newHistoryETag).isNotEqualTo(historyETag);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for the customer profile when the client already holds its ETag.")
+    void shouldAnswerNotModified_whenCustomerETagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/customers/me").with(user(customer)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/customers/me").with(user(customer)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.AccountDailySummaryDto;
+import com.example.bank_app.entity.AccountDailySummaryEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountDailySummaryMapperTest {
+
+    private final AccountDailySummaryMapper accountDailySummaryMapper = new AccountDailySummaryMapper();
+
+    @Test
+    void whenToDtoCalled_shouldCopyEverySummaryField() {
+        AccountDailySummaryEntity accountDailySummaryEntity = AccountDailySummaryEntity
+                .builder()
+                .id("summaryId")
+                .accountId("accountId")
+                .day(LocalDate.now())
+                .credits(BigDecimal.TEN)
+                .debits(BigDecimal.ONE)
+                .transactionCount(3)
+                .closingBalance(BigDecimal.TWO)
+                .build();
+
+        AccountDailySummaryDto result = accountDailySummaryMapper.toDto(accountDailySummaryEntity);
+
+        assertThat(result)
+                .returns(accountDailySummaryEntity.getDay(), AccountDailySummaryDto::getDay)
+                .returns(accountDailySummaryEntity.getCredits(), AccountDailySummaryDto::getCredits)
+                .returns(accountDailySummaryEntity.getDebits(), AccountDailySummaryDto::getDebits)
+                .returns(accountDailySummaryEntity.getTransactionCount(), AccountDailySummaryDto::getTransactionCount)
+                .returns(accountDailySummaryEntity.getClosingBalance(), AccountDailySummaryDto::getClosingBalance);
+    }
+}
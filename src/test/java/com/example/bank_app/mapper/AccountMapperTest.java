@@ -0,0 +1,36 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.entity.AccountEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountMapperTest {
+
+    private final AccountMapper accountMapper = new AccountMapper();
+
+    @Test
+    void whenToDtoCalled_shouldCopyEveryAccountField() {
+        AccountEntity accountEntity = AccountEntity
+                .builder()
+                .id("accountId")
+                .customerId("customerId")
+                .accountNumber("accountNumber")
+                .balance(BigDecimal.TEN)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        AccountDto result = accountMapper.toDto(accountEntity);
+
+        assertThat(result)
+                .returns(accountEntity.getId(), AccountDto::getId)
+                .returns(accountEntity.getCustomerId(), AccountDto::getCustomerId)
+                .returns(accountEntity.getAccountNumber(), AccountDto::getAccountNumber)
+                .returns(accountEntity.getBalance(), AccountDto::getBalance)
+                .returns(accountEntity.getCreatedAt(), AccountDto::getCreatedAt);
+    }
+}
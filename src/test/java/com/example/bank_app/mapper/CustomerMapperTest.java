@@ -0,0 +1,38 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.dto.model.CustomerDto;
+import com.example.bank_app.entity.CustomerEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerMapperTest {
+
+    private final CustomerMapper customerMapper = new CustomerMapper();
+
+    @Test
+    void whenToDtoCalled_shouldCopyEveryPublicCustomerField() {
+        CustomerEntity customerEntity = CustomerEntity
+                .builder()
+                .id("customerId")
+                .email("test@test.com")
+                .password("encodedPassword")
+                .firstName("firstName")
+                .lastName("lastName")
+                .phoneNumber("5550000000")
+                .dateOfBirth(LocalDateTime.now())
+                .build();
+
+        CustomerDto result = customerMapper.toDto(customerEntity);
+
+        assertThat(result)
+                .returns(customerEntity.getId(), CustomerDto::getId)
+                .returns(customerEntity.getEmail(), CustomerDto::getEmail)
+                .returns(customerEntity.getFirstName(), CustomerDto::getFirstName)
+                .returns(customerEntity.getLastName(), CustomerDto::getLastName)
+                .returns(customerEntity.getPhoneNumber(), CustomerDto::getPhoneNumber)
+                .returns(customerEntity.getDateOfBirth(), CustomerDto::getDateOfBirth);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.model.CustomerDto;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.entity.TransactionEntity;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the hand-written DTO mappers with the STRICT ModelMapper configuration they replaced.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=MapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final AccountMapper accountMapper = new AccountMapper();
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+    private final CustomerMapper customerMapper = new CustomerMapper();
+
+    private ModelMapper modelMapper;
+    private AccountEntity accountEntity;
+    private TransactionEntity transactionEntity;
+    private CustomerEntity customerEntity;
+    private List<AccountEntity> accountEntities;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+
+        accountEntity = createAccountEntity("accountId");
+
+        transactionEntity = TransactionEntity
+                .builder()
+                .id("transactionId")
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("receiverAccountId")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(BigDecimal.TEN)
+                .date(LocalDateTime.now())
+                .description("description")
+                .build();
+
+        customerEntity = CustomerEntity
+                .builder()
+                .id("customerId")
+                .email("test@test.com")
+                .password("password")
+                .firstName("firstName")
+                .lastName("lastName")
+                .phoneNumber("5550000000")
+                .dateOfBirth(LocalDateTime.now())
+                .build();
+
+        accountEntities = IntStream.range(0, 100)
+                .mapToObj(i -> createAccountEntity("accountId" + i))
+                .toList();
+    }
+
+    private AccountEntity createAccountEntity(String accountId) {
+        return AccountEntity
+                .builder()
+                .id(accountId)
+                .customerId("customerId")
+                .accountNumber("4000123412341234")
+                .balance(BigDecimal.valueOf(1_000))
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public AccountDto accountWithModelMapper() {
+        return modelMapper.map(accountEntity, AccountDto.class);
+    }
+
+    @Benchmark
+    public AccountDto accountWithMapper() {
+        return accountMapper.toDto(accountEntity);
+    }
+
+    @Benchmark
+    public TransactionDto transactionWithModelMapper() {
+        return modelMapper.map(transactionEntity, TransactionDto.class);
+    }
+
+    @Benchmark
+    public TransactionDto transactionWithMapper() {
+        return transactionMapper.toDto(transactionEntity);
+    }
+
+    @Benchmark
+    public CustomerDto customerWithModelMapper() {
+        return modelMapper.map(customerEntity, CustomerDto.class);
+    }
+
+    @Benchmark
+    public CustomerDto customerWithMapper() {
+        return customerMapper.toDto(customerEntity);
+    }
+
+    @Benchmark
+    public List<AccountDto> accountListWithModelMapper() {
+        return accountEntities.stream()
+                .map(account -> modelMapper.map(account, AccountDto.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<AccountDto> accountListWithMapper() {
+        return accountEntities.stream()
+                .map(accountMapper::toDto)
+                .toList();
+    }
+}
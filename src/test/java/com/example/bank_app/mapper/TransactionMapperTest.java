@@ -0,0 +1,45 @@
+package com.example.bank_app.mapper;
+
+import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.entity.TransactionEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionMapperTest {
+
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+
+    @Test
+    void whenToDtoCalled_shouldCopyEveryTransactionField() {
+        TransactionEntity transactionEntity = TransactionEntity
+                .builder()
+                .id("transactionId")
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("receiverAccountId")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(BigDecimal.TEN)
+                .date(LocalDateTime.now())
+                .description("description")
+                .senderBalanceAfter(BigDecimal.ONE)
+                .receiverBalanceAfter(BigDecimal.TWO)
+                .build();
+
+        TransactionDto result = transactionMapper.toDto(transactionEntity);
+
+        assertThat(result)
+                .returns(transactionEntity.getId(), TransactionDto::getId)
+                .returns(transactionEntity.getSenderAccountId(), TransactionDto::getSenderAccountId)
+                .returns(transactionEntity.getReceiverAccountId(), TransactionDto::getReceiverAccountId)
+                .returns(transactionEntity.getTransactionType(), TransactionDto::getTransactionType)
+                .returns(transactionEntity.getAmount(), TransactionDto::getAmount)
+                .returns(transactionEntity.getDate(), TransactionDto::getDate)
+                .returns(transactionEntity.getDescription(), TransactionDto::getDescription)
+                .returns(transactionEntity.getSenderBalanceAfter(), TransactionDto::getSenderBalanceAfter)
+                .returns(transactionEntity.getReceiverBalanceAfter(), TransactionDto::getReceiverBalanceAfter);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7Generator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares insert throughput of random CHAR(36) UUID keys with time-ordered BINARY(16) UUIDv7 keys on copies
+ * of the transaction table. Point {@code spring.datasource.url} at MySQL to see the InnoDB clustered index effect.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TransactionInsertBenchmarkTest -Dbenchmark.rows=2000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TransactionInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int ACCOUNTS = 20_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final String TABLE_DDL = """
+            CREATE TABLE %1$s (
+                id %2$s NOT NULL PRIMARY KEY,
+                sender_account_id %2$s,
+                receiver_account_id %2$s,
+                transaction_type VARCHAR(255),
+                amount DECIMAL(38, 2),
+                date DATETIME(6),
+                description VARCHAR(255)
+            )""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transaction_char_uuid");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transaction_binary_uuid_v7");
+    }
+
+    @Test
+    void compareRandomCharKeysWithTimeOrderedBinaryKeys() {
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(UUID.randomUUID().toString());
+        }
+
+        report("CHAR(36) random UUIDv4", measure("transaction_char_uuid", "CHAR(36)",
+                () -> UUID.randomUUID().toString(), id -> id, accountIds));
+        report("BINARY(16) UUIDv7", measure("transaction_binary_uuid_v7", "BINARY(16)",
+                () -> UuidV7Generator.generate().toString(), UuidBinaryType::toBytes, accountIds));
+    }
+
+    private double measure(String table, String idType, Supplier<String> idGenerator, Function<String, Object> idEncoder, List<String> accountIds) {
+        jdbcTemplate.execute(TABLE_DDL.formatted(table, idType));
+        jdbcTemplate.execute("CREATE INDEX idx_%1$s_sender ON %1$s (sender_account_id, date, id)".formatted(table));
+        jdbcTemplate.execute("CREATE INDEX idx_%1$s_receiver ON %1$s (receiver_account_id, date, id)".formatted(table));
+
+        String insertSql = "INSERT INTO " + table + " (id, sender_account_id, receiver_account_id, transaction_type, amount, date, description) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        long start = System.nanoTime();
+        for (int row = 0; row < ROWS; row++) {
+            batch.add(new Object[]{
+                    idEncoder.apply(idGenerator.get()),
+                    idEncoder.apply(accountIds.get(row % ACCOUNTS)),
+                    idEncoder.apply(accountIds.get((row * 31 + 7) % ACCOUNTS)),
+                    TransactionType.TRANSFER.name(),
+                    BigDecimal.TEN,
+                    Timestamp.valueOf(LocalDateTime.now()),
+                    "benchmark"
+            });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(insertSql, batch);
+                batch.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate(insertSql, batch);
+        return ROWS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void report(String scenario, double rowsPerSecond) {
+        System.out.printf("[benchmark] rows=%d %-24s %12.0f inserts/s%n", ROWS, scenario, rowsPerSecond);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.bank_app.repository;
+
+import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.common.UuidV7Generator;
+import com.example.bank_app.entity.TransactionEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds the transaction table and compares the old OR-based history query with the
+ * UNION ALL keyset query used by {@link TransactionRepository}.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.rows=5000000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TransactionRepositoryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final int ACCOUNTS = 20_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private static final String OR_FIRST_PAGE_SQL =
+            "SELECT * FROM transaction WHERE sender_account_id = ?1 OR receiver_account_id = ?1 " +
+            "ORDER BY date DESC, id DESC LIMIT ?2";
+
+    private static final String OR_NEXT_PAGE_SQL =
+            "SELECT * FROM transaction WHERE (sender_account_id = ?1 OR receiver_account_id = ?1) " +
+            "AND (date < ?2 OR (date = ?2 AND id < ?3)) ORDER BY date DESC, id DESC LIMIT ?4";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> accountIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareOrQueryWithUnionAllKeysetQuery() {
+        seedTransactions();
+
+        String hotAccountId = accountIds.getFirst();
+        String regularAccountId = accountIds.getLast();
+
+        assertThat(walkHistory(hotAccountId, this::unionAllPage)).isEqualTo(walkHistory(hotAccountId, this::orPage));
+        assertThat(walkHistory(regularAccountId, this::unionAllPage)).isEqualTo(walkHistory(regularAccountId, this::orPage));
+
+        report("hot account, OR query", measure(hotAccountId, this::orPage));
+        report("hot account, UNION ALL query", measure(hotAccountId, this::unionAllPage));
+        report("regular account, OR query", measure(regularAccountId, this::orPage));
+        report("regular account, UNION ALL query", measure(regularAccountId, this::unionAllPage));
+    }
+
+    private void seedTransactions() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(UUID.randomUUID().toString());
+        }
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int row = 0; row < ROWS; row++) {
+            // every tenth transfer goes to the first account to model a busy merchant
+            String receiverId = row % 10 == 0 ? accountIds.getFirst() : accountIds.get(random.nextInt(ACCOUNTS));
+            String senderId = accountIds.get(1 + random.nextInt(ACCOUNTS - 1));
+            batch.add(new Object[]{
+                    UuidBinaryType.toBytes(UuidV7Generator.generate().toString()),
+                    UuidBinaryType.toBytes(senderId),
+                    UuidBinaryType.toBytes(receiverId),
+                    TransactionType.TRANSFER.name(),
+                    BigDecimal.valueOf(random.nextInt(1, 10_000)),
+                    Timestamp.valueOf(start.plusSeconds(row * 15L)),
+                    "benchmark"
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insertBatch(batch);
+            }
+        }
+        insertBatch(batch);
+    }
+
+    private void insertBatch(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO transaction (id, sender_account_id, receiver_account_id, transaction_type, amount, date, description) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private List<String> walkHistory(String accountId, Function<Cursor, List<TransactionEntity>> pageQuery) {
+        return transactionTemplate.execute(status -> {
+            List<String> ids = new ArrayList<>();
+            Cursor cursor = new Cursor(accountId, null, null);
+            for (int page = 0; page < PAGES; page++) {
+                List<TransactionEntity> transactions = pageQuery.apply(cursor);
+                if (transactions.isEmpty()) {
+                    break;
+                }
+                transactions.forEach(transaction -> ids.add(transaction.getId()));
+                TransactionEntity last = transactions.getLast();
+                cursor = new Cursor(accountId, last.getDate(), last.getId());
+                entityManager.clear();
+            }
+            return ids;
+        });
+    }
+
+    private double measure(String accountId, Function<Cursor, List<TransactionEntity>> pageQuery) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            walkHistory(accountId, pageQuery);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            walkHistory(accountId, pageQuery);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ITERATIONS;
+    }
+
+    private List<TransactionEntity> unionAllPage(Cursor cursor) {
+        if (cursor.date() == null) {
+            return transactionRepository.findLatestByAccountId(cursor.accountId(), PAGE_SIZE);
+        }
+        return transactionRepository.findByAccountIdBefore(cursor.accountId(), cursor.date(), cursor.id(), PAGE_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransactionEntity> orPage(Cursor cursor) {
+        if (cursor.date() == null) {
+            return entityManager.createNativeQuery(OR_FIRST_PAGE_SQL, TransactionEntity.class)
+                    .setParameter(1, UuidBinaryType.toBytes(cursor.accountId()))
+                    .setParameter(2, PAGE_SIZE)
+                    .getResultList();
+        }
+        return entityManager.createNativeQuery(OR_NEXT_PAGE_SQL, TransactionEntity.class)
+                .setParameter(1, UuidBinaryType.toBytes(cursor.accountId()))
+                .setParameter(2, cursor.date())
+                .setParameter(3, UuidBinaryType.toBytes(cursor.id()))
+                .setParameter(4, PAGE_SIZE)
+                .getResultList();
+    }
+
+    private void report(String scenario, double millisPerWalk) {
+        System.out.printf("[benchmark] rows=%d %-34s %9.3f ms per %d-page walk%n", ROWS, scenario, millisPerWalk, PAGES);
+    }
+
+    private record Cursor(String accountId, LocalDateTime date, String id) {
+    }
+}
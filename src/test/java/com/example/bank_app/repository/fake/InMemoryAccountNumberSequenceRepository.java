@@ -0,0 +1,37 @@
+package com.example.bank_app.repository.fake;
+
+import com.example.bank_app.entity.AccountNumberSequenceEntity;
+import com.example.bank_app.repository.AccountNumberSequenceRepository;
+
+import java.util.Optional;
+
+public class InMemoryAccountNumberSequenceRepository extends InMemoryJpaRepository<AccountNumberSequenceEntity> implements AccountNumberSequenceRepository {
+
+    @Override
+    protected String getId(AccountNumberSequenceEntity entity) {
+        return entity.getName();
+    }
+
+    @Override
+    protected void setId(AccountNumberSequenceEntity entity, String id) {
+        entity.setName(id);
+    }
+
+    @Override
+    public int incrementNextValue(String name, long increment) {
+        AccountNumberSequenceEntity sequence = entities.computeIfPresent(name, (key, current) ->
+                new AccountNumberSequenceEntity(key, current.getNextValue() + increment));
+        return sequence == null ? 0 : 1;
+    }
+
+    @Override
+    public Optional<Long> findNextValueByName(String name) {
+        return findById(name).map(AccountNumberSequenceEntity::getNextValue);
+    }
+
+    @Override
+    public int insertSequence(String name, long nextValue) {
+        entities.put(name, new AccountNumberSequenceEntity(name, nextValue));
+        return 1;
+    }
+}
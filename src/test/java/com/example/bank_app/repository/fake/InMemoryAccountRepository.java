@@ -0,0 +1,162 @@
+package com.example.bank_app.repository.fake;
+
+import com.example.bank_app.common.AccountBalance;
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.common.AccountVersion;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.repository.AccountRepository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryAccountRepository extends InMemoryJpaRepository<AccountEntity> implements AccountRepository {
+
+    private final Map<String, String> accountIdsByNumber = new ConcurrentHashMap<>();
+
+    @Override
+    protected String getId(AccountEntity entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void setId(AccountEntity entity, String id) {
+        entity.setId(id);
+    }
+
+    @Override
+    public <S extends AccountEntity> S save(S entity) {
+        S saved = super.save(entity);
+        accountIdsByNumber.put(saved.getAccountNumber(), saved.getId());
+        return saved;
+    }
+
+    @Override
+    public void delete(AccountEntity entity) {
+        super.delete(entity);
+        accountIdsByNumber.remove(entity.getAccountNumber());
+    }
+
+    @Override
+    public void deleteAll() {
+        super.deleteAll();
+        accountIdsByNumber.clear();
+    }
+
+    @Override
+    public Optional<AccountEntity> findByAccountNumber(String accountNumber) {
+        return Optional.ofNullable(accountIdsByNumber.get(accountNumber)).flatMap(this::findById);
+    }
+
+    @Override
+    public Optional<AccountEntity> findByIdAndCustomerId(String accountId, String customerId) {
+        return findById(accountId).filter(account -> account.getCustomerId().equals(customerId));
+    }
+
+    @Override
+    public List<AccountEntity> findAllByCustomerId(String customerId) {
+        return entities.values().stream()
+                .filter(account -> account.getCustomerId().equals(customerId))
+                .toList();
+    }
+
+    @Override
+    public List<AccountEntity> findAllByAccountNumberIn(Collection<String> accountNumbers) {
+        return accountNumbers.stream()
+                .map(this::findByAccountNumber)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public Optional<AccountEntity> findByIdForUpdate(String accountId) {
+        return findById(accountId);
+    }
+
+    @Override
+    public List<String> lockAllByIdIn(Collection<String> accountIds) {
+        return accountIds.stream()
+                .filter(this::existsById)
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public boolean existsByIdAndCustomerId(String accountId, String customerId) {
+        return findByIdAndCustomerId(accountId, customerId).isPresent();
+    }
+
+    @Override
+    public Optional<AccountReference> findReferenceByAccountNumber(String accountNumber) {
+        return findByAccountNumber(accountNumber).map(account -> new AccountReference(account.getId(), account.getCustomerId(), account.getBalanceSlots()));
+    }
+
+    @Override
+    public Optional<BigDecimal> findBalanceById(String accountId) {
+        return findById(accountId).map(AccountEntity::getBalance);
+    }
+
+    @Override
+    public Optional<AccountVersion> findVersionByIdAndCustomerId(String accountId, String customerId) {
+        return findByIdAndCustomerId(accountId, customerId).map(this::toVersion);
+    }
+
+    @Override
+    public List<AccountVersion> findAllVersionsByCustomerId(String customerId) {
+        return findAllByCustomerId(customerId).stream()
+                .sorted(Comparator.comparing(AccountEntity::getId))
+                .map(this::toVersion)
+                .toList();
+    }
+
+    private AccountVersion toVersion(AccountEntity account) {
+        return new AccountVersion(account.getId(), account.getVersion(), account.getBalanceSlots());
+    }
+
+    @Override
+    public Optional<BigDecimal> findBalanceWithoutSlotsById(String accountId) {
+        return findById(accountId)
+                .filter(account -> account.getBalanceSlots() == 0)
+                .map(AccountEntity::getBalance);
+    }
+
+    @Override
+    public List<AccountBalance> findAllBalancesWithoutSlotsByIdIn(Collection<String> accountIds) {
+        return accountIds.stream()
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .filter(account -> account.getBalanceSlots() == 0)
+                .map(account -> new AccountBalance(account.getId(), account.getBalance()))
+                .toList();
+    }
+
+    @Override
+    public int debitBalance(String accountId, BigDecimal amount) {
+        int[] updated = {0};
+        entities.computeIfPresent(accountId, (id, account) -> {
+            if (account.getBalance().compareTo(amount) >= 0) {
+                account.setBalance(account.getBalance().subtract(amount));
+                account.setVersion(account.getVersion() + 1);
+                updated[0] = 1;
+            }
+            return account;
+        });
+        return updated[0];
+    }
+
+    @Override
+    public int creditBalance(String accountId, BigDecimal amount) {
+        int[] updated = {0};
+        entities.computeIfPresent(accountId, (id, account) -> {
+            account.setBalance(account.getBalance().add(amount));
+            account.setVersion(account.getVersion() + 1);
+            updated[0] = 1;
+            return account;
+        });
+        return updated[0];
+    }
+}
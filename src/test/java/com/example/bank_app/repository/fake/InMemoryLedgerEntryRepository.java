@@ -0,0 +1,54 @@
+package com.example.bank_app.repository.fake;
+
+import com.example.bank_app.entity.LedgerEntryEntity;
+import com.example.bank_app.repository.LedgerEntryRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class InMemoryLedgerEntryRepository extends InMemoryJpaRepository<LedgerEntryEntity> implements LedgerEntryRepository {
+
+    @Override
+    protected String getId(LedgerEntryEntity entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void setId(LedgerEntryEntity entity, String id) {
+        entity.setId(id);
+    }
+
+    @Override
+    public List<LedgerEntryEntity> findAllByTransactionId(String transactionId) {
+        return entities.values().stream()
+                .filter(entry -> transactionId.equals(entry.getTransactionId()))
+                .toList();
+    }
+
+    @Override
+    public List<String> findAccountIdsWithEntriesCreatedAfter(LocalDateTime createdAt, long maxEntrySequence) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<LedgerEntryEntity> findFirstByCreatedAtLessThanEqualOrderByEntrySequenceDesc(LocalDateTime createdAt) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BigDecimal sumAmountByAccountIdAfter(String accountId, long entrySequence) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BigDecimal sumAmountByAccountIdBetween(String accountId, long afterEntrySequence, long untilEntrySequence) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BigDecimal sumAmountByAccountIdCreatedUntil(byte[] accountId, LocalDateTime createdAt) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.bank_app.repository.fake;
+
+import com.example.bank_app.common.AccountDay;
+import com.example.bank_app.common.DailyTotals;
+import com.example.bank_app.common.TransactionType;
+import com.example.bank_app.entity.TransactionEntity;
+import com.example.bank_app.repository.TransactionRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class InMemoryTransactionRepository extends InMemoryJpaRepository<TransactionEntity> implements TransactionRepository {
+
+    private static final Comparator<TransactionEntity> NEWEST_FIRST = Comparator
+            .comparing(TransactionEntity::getDate)
+            .thenComparing(TransactionEntity::getId)
+            .reversed();
+
+    @Override
+    protected String getId(TransactionEntity entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected void setId(TransactionEntity entity, String id) {
+        entity.setId(id);
+    }
+
+    @Override
+    public <S extends TransactionEntity> S save(S entity) {
+        if (entity.getDate() == null) {
+            entity.setDate(LocalDateTime.now());
+        }
+        return super.save(entity);
+    }
+
+    @Override
+    public Optional<TransactionEntity> findInitialTransactionByAccountId(String accountId) {
+        return entities.values().stream()
+                .filter(transaction -> accountId.equals(transaction.getSenderAccountId()))
+                .filter(transaction -> transaction.getTransactionType() == TransactionType.INITIAL)
+                .findFirst();
+    }
+
+    @Override
+    public List<TransactionEntity> findLatestByAccountId(String accountId, int limit) {
+        return streamAllByAccountId(accountId)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<TransactionEntity> findByAccountIdBefore(String accountId, LocalDateTime date, String id, int limit) {
+        return streamAllByAccountId(accountId)
+                .filter(transaction -> transaction.getDate().isBefore(date)
+                        || (transaction.getDate().isEqual(date) && transaction.getId().compareTo(id) < 0))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<TransactionEntity> findLatestByAccountIdAsOf(String accountId, LocalDateTime asOf) {
+        return streamAllByAccountId(accountId)
+                .filter(transaction -> !transaction.getDate().isAfter(asOf))
+                .findFirst();
+    }
+
+    @Override
+    public List<TransactionEntity> findLatestByAccountId(byte[] accountId, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<TransactionEntity> findByAccountIdBefore(byte[] accountId, LocalDateTime date, byte[] id, int limit) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<TransactionEntity> findLatestByAccountIdAsOf(byte[] accountId, LocalDateTime asOf) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findEarliestDateAfter(LocalDateTime date) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccountDay> findSenderAccountDaysBetween(LocalDateTime after, LocalDateTime until) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<AccountDay> findReceiverAccountDaysBetween(LocalDateTime after, LocalDateTime until) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DailyTotals sumDailyTotalsByAccountId(byte[] accountId, LocalDateTime from, LocalDateTime to) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Stream<TransactionEntity> streamAllByAccountIdAndDateRange(byte[] accountId, LocalDateTime from, LocalDateTime to) {
+        throw new UnsupportedOperationException();
+    }
+
+    private Stream<TransactionEntity> streamAllByAccountId(String accountId) {
+        return entities.values().stream()
+                .filter(transaction -> accountId.equals(transaction.getSenderAccountId()) || accountId.equals(transaction.getReceiverAccountId()))
+                .sorted(NEWEST_FIRST);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewAccountRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.repository.AccountBalanceSlotRepository;
+import com.example.bank_app.repository.AccountBalanceSnapshotRepository;
+import com.example.bank_app.repository.AccountDailySummaryRepository;
+import com.example.bank_app.repository.AccountRepository;
+import com.example.bank_app.repository.AggregationWatermarkRepository;
+import com.example.bank_app.repository.AsyncTransferRepository;
+import com.example.bank_app.repository.IdempotencyKeyRepository;
+import com.example.bank_app.repository.LedgerEntryRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base for tests that open accounts and make transfers against the database. Everything they write, and everything
+ * derived from it, is deleted after each test, children before the rows they point at. Cached account number lookups
+ * go with it, since the next test may reuse the numbers for new accounts.
+ */
+@SpringBootTest
+public abstract class AccountDatabaseTest {
+
+    @Autowired
+    protected AccountService accountService;
+
+    @Autowired
+    protected TransactionService transactionService;
+
+    @Autowired
+    protected AccountRepository accountRepository;
+
+    @Autowired
+    protected TransactionRepository transactionRepository;
+
+    @Autowired
+    protected LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    @Autowired
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+
+    @Autowired
+    private AggregationWatermarkRepository aggregationWatermarkRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private AsyncTransferRepository asyncTransferRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void deleteAccountsAndTransactions() {
+        asyncTransferRepository.deleteAllInBatch();
+        idempotencyKeyRepository.deleteAllInBatch();
+        aggregationWatermarkRepository.deleteAllInBatch();
+        accountDailySummaryRepository.deleteAllInBatch();
+        accountBalanceSnapshotRepository.deleteAllInBatch();
+        ledgerEntryRepository.deleteAllInBatch();
+        accountBalanceSlotRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        cacheManager.getCache(AccountLookupService.ACCOUNTS_BY_NUMBER_CACHE).clear();
+    }
+
+    // transactions are dated on insert, so tests that need other dates rewrite them afterwards
+    protected void redate(TransactionDto transaction, LocalDateTime date) {
+        jdbcTemplate.update("UPDATE transaction SET date = ? WHERE id = ?", date, UuidBinaryType.toBytes(transaction.getId()));
+    }
+
+    // saved as a bare row, for tests that need a given account number and no opening deposit
+    protected AccountEntity saveAccount(String accountNumber, BigDecimal balance) {
+        return accountRepository.save(AccountEntity
+                .builder()
+                .customerId(UUID.randomUUID().toString())
+                .accountNumber(accountNumber)
+                .balance(balance)
+                .build());
+    }
+
+    protected static NewAccountRequest newAccountRequest(BigDecimal initialBalance) {
+        NewAccountRequest request = new NewAccountRequest();
+        request.setInitialBalance(initialBalance);
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.entity.AccountEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountLookupServiceTest extends AccountDatabaseTest {
+
+    @Autowired
+    private AccountLookupService accountLookupService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AccountEntity account;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(AccountLookupService.ACCOUNTS_BY_NUMBER_CACHE);
+        account = saveAccount(AccountNumber.fromSerial(42), BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups of the same account number from the cache.")
+    void shouldServeRepeatedLookupsFromCache() {
+        AccountReference expected = new AccountReference(account.getId(), account.getCustomerId(), account.getBalanceSlots());
+        double hitsBefore = cacheGets("hit");
+
+        assertThat(accountLookupService.findByAccountNumber(account.getAccountNumber())).contains(expected);
+        accountRepository.deleteAllInBatch();
+
+        assertThat(accountLookupService.findByAccountNumber(account.getAccountNumber())).contains(expected);
+        assertThat(cacheGets("hit") - hitsBefore).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown account numbers.")
+    void shouldNotCacheUnknownAccountNumbers() {
+        String unknownAccountNumber = AccountNumber.fromSerial(43);
+
+        assertThat(accountLookupService.findByAccountNumber(unknownAccountNumber)).isEmpty();
+
+        assertThat(cache.get(unknownAccountNumber)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should look the account up again after the entry is evicted.")
+    void shouldLookUpAgain_whenEntryEvicted() {
+        accountLookupService.findByAccountNumber(account.getAccountNumber());
+
+        accountLookupService.evict(account.getAccountNumber());
+        accountRepository.deleteAllInBatch();
+
+        assertThat(accountLookupService.findByAccountNumber(account.getAccountNumber())).isEmpty();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", AccountLookupService.ACCOUNTS_BY_NUMBER_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
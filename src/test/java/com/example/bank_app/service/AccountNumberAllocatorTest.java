@@ -0,0 +1,64 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.repository.AccountNumberSequenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class AccountNumberAllocatorTest {
+
+    private static final int NODE_COUNT = 3;
+    private static final int THREAD_COUNT = 8;
+    private static final int NUMBERS_PER_TASK = 500;
+
+    @Autowired
+    private AccountNumberSequenceRepository accountNumberSequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should hand out unique check-digit valid numbers when several nodes allocate concurrently.")
+    void shouldHandOutUniqueValidNumbers_whenNodesAllocateConcurrently() throws Exception {
+        List<AccountNumberAllocator> nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(new AccountNumberAllocator(accountNumberSequenceRepository, transactionManager, 50));
+        }
+
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            AccountNumberAllocator node = nodes.get(i % NODE_COUNT);
+            tasks.add(() -> {
+                for (int j = 0; j < NUMBERS_PER_TASK; j++) {
+                    assertThat(accountNumbers.add(node.nextAccountNumber())).isTrue();
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        for (Future<Void> result : executor.invokeAll(tasks)) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertThat(accountNumbers).hasSize(THREAD_COUNT * NUMBERS_PER_TASK);
+        assertThat(accountNumbers).allSatisfy(accountNumber -> assertThat(AccountNumber.isValid(accountNumber)).isTrue());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.request.NewAccountRequest;
+import com.example.bank_app.mapper.AccountMapper;
+import com.example.bank_app.repository.fake.InMemoryAccountNumberSequenceRepository;
+import com.example.bank_app.repository.fake.InMemoryAccountRepository;
+import com.example.bank_app.repository.fake.InMemoryLedgerEntryRepository;
+import com.example.bank_app.repository.fake.InMemoryTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures account creation and account number allocation against in-memory repositories.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=AccountServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    private InMemoryAccountRepository accountRepository;
+    private InMemoryTransactionRepository transactionRepository;
+    private InMemoryLedgerEntryRepository ledgerEntryRepository;
+    private AccountNumberAllocator accountNumberAllocator;
+    private AccountService accountService;
+    private NewAccountRequest emptyAccountRequest;
+    private NewAccountRequest fundedAccountRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        ledgerEntryRepository = new InMemoryLedgerEntryRepository();
+        accountNumberAllocator = new AccountNumberAllocator(
+                new InMemoryAccountNumberSequenceRepository(),
+                new NoOpTransactionManager(),
+                100);
+        accountService = new AccountService(
+                accountRepository,
+                new AccountMapper(),
+                transactionRepository,
+                new AccountValidateService(accountRepository),
+                accountNumberAllocator,
+                new AccountLookupService(accountRepository),
+                new LedgerService(ledgerEntryRepository, null, null, accountRepository, null, null, new NoOpTransactionManager(), Duration.ZERO, Duration.ZERO),
+                null,
+                new TransactionTemplate(new NoOpTransactionManager()),
+                new SimpleMeterRegistry());
+
+        emptyAccountRequest = new NewAccountRequest();
+        emptyAccountRequest.setInitialBalance(BigDecimal.ZERO);
+
+        fundedAccountRequest = new NewAccountRequest();
+        fundedAccountRequest.setInitialBalance(BigDecimal.valueOf(1_000));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearRepositories() {
+        accountRepository.deleteAll();
+        transactionRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+    }
+
+    @Benchmark
+    public AccountDto addNewAccountWithoutInitialBalance() {
+        return accountService.addNewAccount("customerId", emptyAccountRequest);
+    }
+
+    @Benchmark
+    public AccountDto addNewAccountWithInitialBalance() {
+        return accountService.addNewAccount("customerId", fundedAccountRequest);
+    }
+
+    @Benchmark
+    public String nextAccountNumber() {
+        return accountNumberAllocator.nextAccountNumber();
+    }
+
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bank_app.service;
 
+import com.example.bank_app.common.AccountVersion;
 import com.example.bank_app.common.TransactionType;
 import com.example.bank_app.dto.model.AccountDto;
 import com.example.bank_app.dto.request.NewAccountRequest;
@@ -8,18 +9,22 @@ import com.example.bank_app.entity.CustomerEntity;
 import com.example.bank_app.entity.TransactionEntity;
 import com.example.bank_app.exception.AccountCreationException;
 import com.example.bank_app.exception.AccountNotFoundException;
+import com.example.bank_app.mapper.AccountMapper;
 import com.example.bank_app.repository.AccountRepository;
 import com.example.bank_app.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,7 +41,7 @@ import static org.mockito.Mockito.times;
 public class AccountServiceTest {
 
     @Mock
-    private ModelMapper modelMapper;
+    private AccountMapper accountMapper;
 
     @Mock
     private AccountRepository accountRepository;
@@ -47,6 +52,24 @@ public class AccountServiceTest {
     @Mock
     private AccountValidateService accountValidateService;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Captor
     private ArgumentCaptor<AccountEntity> accountEntityCaptor;
 
@@ -78,8 +101,9 @@ public class AccountServiceTest {
                 .build();
 
 
+        when(accountNumberAllocator.nextAccountNumber()).thenReturn("generatedAccountNumber");
         when(accountRepository.save(accountEntityCaptor.capture())).thenReturn(accountEntity);
-        when(modelMapper.map(accountEntity, AccountDto.class)).thenReturn(accountDto);
+        when(accountMapper.toDto(accountEntity)).thenReturn(accountDto);
 
         AccountDto result = accountService.addNewAccount(customerId, request);
 
@@ -89,9 +113,10 @@ public class AccountServiceTest {
         AccountEntity capturedAccount = accountEntityCaptor.getValue();
 
         assertEquals(customerId, capturedAccount.getCustomerId());
+        assertEquals("generatedAccountNumber", capturedAccount.getAccountNumber());
         assertEquals(request.getInitialBalance(), capturedAccount.getBalance());
 
-        verify(modelMapper, times(1)).map(accountEntity, AccountDto.class);
+        verify(accountMapper, times(1)).toDto(accountEntity);
     }
 
     @Test
@@ -127,8 +152,8 @@ public class AccountServiceTest {
 
 
         when(accountRepository.save(accountEntityCaptor.capture())).thenReturn(accountEntity);
-        when(transactionRepository.save(transactionCaptor.capture())).thenReturn(null);
-        when(modelMapper.map(accountEntity, AccountDto.class)).thenReturn(accountDto);
+        when(transactionRepository.save(transactionCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(accountMapper.toDto(accountEntity)).thenReturn(accountDto);
 
         AccountDto result = accountService.addNewAccount(customerId, request);
 
@@ -145,8 +170,9 @@ public class AccountServiceTest {
         assertEquals(capturedTransaction.getSenderAccountId(), accountEntity.getId());
         assertEquals(capturedTransaction.getReceiverAccountId(), accountEntity.getId());
         assertEquals(capturedTransaction.getAmount(), request.getInitialBalance());
+        verify(ledgerService).recordInitialDeposit(capturedTransaction);
 
-        verify(modelMapper, times(1)).map(accountEntity, AccountDto.class);
+        verify(accountMapper, times(1)).toDto(accountEntity);
     }
 
     @Test
@@ -169,7 +195,7 @@ public class AccountServiceTest {
         List<AccountDto> expected = List.of(accountDto);
 
         when(accountRepository.findAllByCustomerId(customerId)).thenReturn(List.of(accountEntity));
-        when(modelMapper.map(accountEntity, AccountDto.class)).thenReturn(accountDto);
+        when(accountMapper.toDto(accountEntity)).thenReturn(accountDto);
 
         List<AccountDto> result = accountService.getAllAccounts(customerId);
 
@@ -177,7 +203,7 @@ public class AccountServiceTest {
         assertEquals(1, result.size());
 
         verify(accountRepository, times(1)).findAllByCustomerId(customerId);
-        verify(modelMapper, times(1)).map(accountEntity, AccountDto.class);
+        verify(accountMapper, times(1)).toDto(accountEntity);
     }
 
 
@@ -202,14 +228,14 @@ public class AccountServiceTest {
                 .build();
 
         Mockito.when(accountValidateService.retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId")).thenReturn(accountEntity);
-        Mockito.when(modelMapper.map(accountEntity, AccountDto.class)).thenReturn(expectedResult);
+        Mockito.when(accountMapper.toDto(accountEntity)).thenReturn(expectedResult);
 
         AccountDto result = accountService.getAccountByIdAndCustomerId("accountId", "customerId");
 
         assertEquals(expectedResult, result);
 
         Mockito.verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
-        Mockito.verify(modelMapper).map(accountEntity, AccountDto.class);
+        Mockito.verify(accountMapper).toDto(accountEntity);
     }
 
     @Test
@@ -223,7 +249,7 @@ public class AccountServiceTest {
                 .hasMessageContaining("Account can not found by id: " + "accountId");
 
         Mockito.verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
-        Mockito.verifyNoInteractions(modelMapper);
+        Mockito.verifyNoInteractions(accountMapper);
     }
 
     @Test
@@ -258,6 +284,7 @@ public class AccountServiceTest {
         Mockito.verify(transactionRepository).findInitialTransactionByAccountId("accountId");
         Mockito.verify(transactionRepository).delete(transactionEntity);
         Mockito.verify(accountRepository).delete(accountEntity);
+        Mockito.verify(accountLookupService).evict("accountNumber");
     }
 
     @Test
@@ -280,6 +307,7 @@ public class AccountServiceTest {
         Mockito.verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
         Mockito.verify(transactionRepository).findInitialTransactionByAccountId("accountId");
         Mockito.verify(accountRepository).delete(accountEntity);
+        Mockito.verify(accountLookupService).evict("accountNumber");
     }
 
     @Test
@@ -293,7 +321,50 @@ public class AccountServiceTest {
                 .hasMessageContaining("Account can not found by id: " + "accountId");
 
         Mockito.verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
-        Mockito.verifyNoInteractions(transactionRepository);
+        Mockito.verifyNoInteractions(transactionRepository, accountLookupService);
+    }
+
+    @Test
+    @DisplayName("Should tag the account with its version without loading it when the account belongs to the customer.")
+    void shouldTagAccountWithItsVersion_whenTheAccountFoundByAccountIdAndCustomerId() {
+        Mockito.when(accountRepository.findVersionByIdAndCustomerId("accountId", "customerId"))
+                .thenReturn(Optional.of(new AccountVersion("accountId", 7, 0)));
+
+        assertEquals("accountId.7", accountService.getAccountETag("accountId", "customerId"));
+
+        Mockito.verifyNoInteractions(accountValidateService, accountMapper, balanceSlotService);
+    }
+
+    @Test
+    @DisplayName("Should add the slot total to the tag when the account is a hot account.")
+    void shouldAddSlotTotalToTag_whenTheAccountHasBalanceSlots() {
+        Mockito.when(accountRepository.findVersionByIdAndCustomerId("accountId", "customerId"))
+                .thenReturn(Optional.of(new AccountVersion("accountId", 7, 4)));
+        Mockito.when(balanceSlotService.getSlotBalance("accountId")).thenReturn(new BigDecimal("12.50"));
+
+        assertEquals("accountId.7.12.50", accountService.getAccountETag("accountId", "customerId"));
+    }
+
+    @Test
+    @DisplayName("Should not tag the account when the account not found by account id and customer id.")
+    void shouldNotTagAccount_whenTheAccountNotFoundByAccountIdAndCustomerId() {
+        Mockito.when(accountRepository.findVersionByIdAndCustomerId("accountId", "customerId")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> accountService.getAccountETag("accountId", "customerId"))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should change the tag of all accounts when any account's version changes.")
+    void shouldChangeTagOfAllAccounts_whenAnyAccountVersionChanges() {
+        Mockito.when(accountRepository.findAllVersionsByCustomerId("customerId"))
+                .thenReturn(List.of(new AccountVersion("first", 1, 0), new AccountVersion("second", 1, 0)))
+                .thenReturn(List.of(new AccountVersion("first", 1, 0), new AccountVersion("second", 2, 0)));
+
+        String before = accountService.getAllAccountsETag("customerId");
+        String after = accountService.getAllAccountsETag("customerId");
+
+        assertNotEquals(before, after);
     }
 }
 
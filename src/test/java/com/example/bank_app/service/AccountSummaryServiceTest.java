@@ -0,0 +1,138 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.AccountDailySummaryDto;
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.exception.InvalidDateRangeException;
+import com.example.bank_app.repository.AccountDailySummaryRepository;
+import com.example.bank_app.repository.AggregationWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccountSummaryServiceTest extends AccountDatabaseTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate SECOND_DAY = LocalDate.of(2024, 1, 2);
+
+    @Autowired
+    private AccountSummaryService accountSummaryService;
+
+    @Autowired
+    private AccountDailySummaryRepository accountDailySummaryRepository;
+
+    @Autowired
+    private AggregationWatermarkRepository aggregationWatermarkRepository;
+
+    private String customerId;
+    private AccountDto payer;
+    private AccountDto payee;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        payer = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(100)));
+        payee = accountService.addNewAccount(UUID.randomUUID().toString(), newAccountRequest(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should summarize every day with transactions when no watermark exists yet.")
+    void shouldSummarizeEveryDay_whenNoWatermarkExists() {
+        redate(transfer(), FIRST_DAY.atTime(9, 0));
+        redate(transfer(), FIRST_DAY.atTime(17, 30));
+        redate(transfer(), SECOND_DAY.atTime(12, 0));
+
+        accountSummaryService.refreshSummaries();
+
+        List<AccountDailySummaryDto> summaries = accountSummaryService.getDailySummaries(payer.getId(), customerId, FIRST_DAY, SECOND_DAY);
+        assertThat(summaries).extracting(AccountDailySummaryDto::getDay).containsExactly(FIRST_DAY, SECOND_DAY);
+        assertThat(summaries.getFirst())
+                .satisfies(summary -> assertThat(summary.getCredits()).isEqualByComparingTo("0"))
+                .satisfies(summary -> assertThat(summary.getDebits()).isEqualByComparingTo("20"))
+                .satisfies(summary -> assertThat(summary.getClosingBalance()).isEqualByComparingTo("80"))
+                .returns(2L, AccountDailySummaryDto::getTransactionCount);
+        assertThat(summaries.getLast())
+                .satisfies(summary -> assertThat(summary.getDebits()).isEqualByComparingTo("10"))
+                .satisfies(summary -> assertThat(summary.getClosingBalance()).isEqualByComparingTo("70"))
+                .returns(1L, AccountDailySummaryDto::getTransactionCount);
+    }
+
+    @Test
+    @DisplayName("Should work through old history in windows up to the start of the run.")
+    void shouldAdvanceWatermarkToRunStart_whenHistorySpansManyWindows() {
+        redate(transfer(), FIRST_DAY.atTime(9, 0));
+        redate(transfer(), FIRST_DAY.plusMonths(6).atTime(9, 0));
+        LocalDateTime beforeRun = LocalDateTime.now();
+
+        accountSummaryService.refreshSummaries();
+
+        assertThat(accountSummaryService.getDailySummaries(payer.getId(), customerId, FIRST_DAY, FIRST_DAY.plusMonths(6)))
+                .extracting(AccountDailySummaryDto::getDay)
+                .containsExactly(FIRST_DAY, FIRST_DAY.plusMonths(6));
+        assertThat(aggregationWatermarkRepository.findById(AccountSummaryService.WATERMARK_NAME)).hasValueSatisfying(watermark ->
+                assertThat(watermark.getProcessedUntil()).isAfterOrEqualTo(beforeRun));
+    }
+
+    @Test
+    @DisplayName("Should fold transactions made after the previous run into today's summary.")
+    void shouldUpdateTodaysSummary_whenTransactionsMadeAfterPreviousRun() {
+        transfer();
+        accountSummaryService.refreshSummaries();
+        transfer();
+        accountSummaryService.refreshSummaries();
+
+        List<AccountDailySummaryDto> summaries = accountSummaryService.getDailySummaries(payee.getId(), payee.getCustomerId(), null, null);
+        assertThat(summaries).singleElement()
+                .satisfies(summary -> assertThat(summary.getCredits()).isEqualByComparingTo("20"))
+                .satisfies(summary -> assertThat(summary.getDebits()).isEqualByComparingTo("0"))
+                .satisfies(summary -> assertThat(summary.getClosingBalance()).isEqualByComparingTo("20"))
+                .returns(2L, AccountDailySummaryDto::getTransactionCount);
+        assertThat(accountDailySummaryRepository.findByAccountIdAndDay(payer.getId(), LocalDate.now())).hasValueSatisfying(summary -> {
+            assertThat(summary.getCredits()).isEqualByComparingTo("100");
+            assertThat(summary.getDebits()).isEqualByComparingTo("20");
+            assertThat(summary.getTransactionCount()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    @DisplayName("Should fold in a transaction that committed after the previous run when it is dated within the transaction timeout before it.")
+    void shouldFoldInLateCommit_whenDatedWithinTransactionTimeoutBeforePreviousRun() {
+        transfer();
+        accountSummaryService.refreshSummaries();
+        LocalDateTime processedUntil = aggregationWatermarkRepository.findById(AccountSummaryService.WATERMARK_NAME).orElseThrow().getProcessedUntil();
+        redate(transfer(), processedUntil.minusSeconds(30));
+
+        accountSummaryService.refreshSummaries();
+
+        assertThat(accountDailySummaryRepository.findByAccountIdAndDay(payee.getId(), processedUntil.minusSeconds(30).toLocalDate()))
+                .hasValueSatisfying(summary -> assertThat(summary.getTransactionCount()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should reject a summary range that ends before it starts.")
+    void shouldRejectSummaryRange_whenRangeIsReversed() {
+        assertThatThrownBy(() -> accountSummaryService.getDailySummaries(payer.getId(), customerId, SECOND_DAY, FIRST_DAY))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    private TransactionDto transfer() {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(payee.getAccountNumber())
+                .description("rent")
+                .build();
+        return transactionService.addNewTransaction(customerId, payer.getId(), request);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.common.AsyncTransferStatus;
+import com.example.bank_app.common.JournaledTransfer;
+import com.example.bank_app.common.TransferJournal;
+import com.example.bank_app.common.UuidV7Generator;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.dto.response.AsyncTransferResponse;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.entity.AsyncTransferEntity;
+import com.example.bank_app.exception.AsyncTransferNotFoundException;
+import com.example.bank_app.exception.InvalidAmountException;
+import com.example.bank_app.repository.AsyncTransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncTransferServiceTest extends AccountDatabaseTest {
+
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(100);
+
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+
+    @Autowired
+    private AccountValidateService accountValidateService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AsyncTransferRepository asyncTransferRepository;
+
+    @TempDir
+    private Path directory;
+
+    private AccountEntity sender;
+    private AccountEntity receiver;
+
+    @BeforeEach
+    void setUp() {
+        sender = saveAccount(AccountNumber.fromSerial(1), INITIAL_BALANCE);
+        receiver = saveAccount(AccountNumber.fromSerial(2), INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should accept the transfer as pending and complete it in the background.")
+    void shouldAcceptAsPendingAndComplete_whenSenderBalanceEnough() throws InterruptedException {
+        AsyncTransferResponse accepted = asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.TEN));
+
+        assertThat(accepted.getStatus()).isEqualTo(AsyncTransferStatus.PENDING);
+
+        AsyncTransferResponse finished = awaitFinished(asyncTransferService, accepted.getTransferId());
+        assertThat(finished.getStatus()).isEqualTo(AsyncTransferStatus.COMPLETED);
+        assertThat(transactionRepository.findById(finished.getTransactionId())).isPresent();
+        assertThat(accountRepository.findBalanceById(sender.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.TEN)));
+    }
+
+    @Test
+    @DisplayName("Should mark the transfer failed without affecting the next one when the sender balance is not enough.")
+    void shouldMarkTransferFailed_whenSenderBalanceIsNotEnough() throws InterruptedException {
+        AsyncTransferResponse rejected = asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.valueOf(1_000)));
+        AsyncTransferResponse accepted = asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.ONE));
+
+        AsyncTransferResponse failed = awaitFinished(asyncTransferService, rejected.getTransferId());
+        assertThat(failed.getStatus()).isEqualTo(AsyncTransferStatus.FAILED);
+        assertThat(failed.getFailureReason()).contains("Balance is not enough");
+        assertThat(awaitFinished(asyncTransferService, accepted.getTransferId()).getStatus()).isEqualTo(AsyncTransferStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should complete transfers crossing between two accounts in both directions.")
+    void shouldCompleteEveryTransfer_whenTransfersCrossBetweenAccounts() throws InterruptedException {
+        List<AsyncTransferResponse> accepted = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accepted.add(asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.ONE)));
+            accepted.add(asyncTransferService.addNewTransaction(receiver.getCustomerId(), receiver.getId(), NewMoneyTransferRequest
+                    .builder()
+                    .amount(BigDecimal.ONE)
+                    .receiverAccountNumber(sender.getAccountNumber())
+                    .description("async transfer back")
+                    .build()));
+        }
+
+        for (int i = 0; i < accepted.size(); i += 2) {
+            assertThat(awaitFinished(asyncTransferService, accepted.get(i).getTransferId()).getStatus()).isEqualTo(AsyncTransferStatus.COMPLETED);
+            assertThat(awaitFinished(asyncTransferService, receiver, accepted.get(i + 1).getTransferId()).getStatus()).isEqualTo(AsyncTransferStatus.COMPLETED);
+        }
+        assertThat(accountRepository.findBalanceById(sender.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE));
+        assertThat(accountRepository.findBalanceById(receiver.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid transfer before it reaches the journal.")
+    void shouldRejectInvalidTransferSynchronously() {
+        assertThatThrownBy(() -> asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.ZERO)))
+                .isInstanceOf(InvalidAmountException.class);
+    }
+
+    @Test
+    @DisplayName("Should not report the status of another account's transfer.")
+    void shouldNotReportStatus_whenTransferBelongsToAnotherAccount() throws InterruptedException {
+        AsyncTransferResponse accepted = asyncTransferService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferRequest(BigDecimal.ONE));
+        awaitFinished(asyncTransferService, accepted.getTransferId());
+
+        assertThatThrownBy(() -> asyncTransferService.getTransferStatus(receiver.getCustomerId(), receiver.getId(), accepted.getTransferId()))
+                .isInstanceOf(AsyncTransferNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should apply journaled transfers left by a previous run exactly once when the service starts.")
+    void shouldReplayUnfinishedJournaledTransfers_whenServiceStarts() throws Exception {
+        Path journalPath = directory.resolve("journal.log");
+        JournaledTransfer unfinished = journaledTransfer(BigDecimal.valueOf(30));
+        JournaledTransfer finished = journaledTransfer(BigDecimal.valueOf(40));
+        try (TransferJournal journal = new TransferJournal(journalPath, DataSize.ofMegabytes(64).toBytes())) {
+            journal.append(finished);
+            journal.append(unfinished);
+        }
+        asyncTransferRepository.save(AsyncTransferEntity
+                .builder()
+                .id(finished.transferId())
+                .senderAccountId(sender.getId())
+                .status(AsyncTransferStatus.FAILED)
+                .failureReason("finished before the restart")
+                .build());
+
+        AsyncTransferService restartedService = new AsyncTransferService(transactionService, accountValidateService,
+                asyncTransferRepository, transactionTemplate, journalPath, DataSize.ofMegabytes(64), 2, 10, 100, Duration.ofSeconds(1));
+        restartedService.start();
+        try {
+            assertThat(awaitFinished(restartedService, unfinished.transferId()).getStatus()).isEqualTo(AsyncTransferStatus.COMPLETED);
+        } finally {
+            restartedService.stop();
+        }
+
+        assertThat(restartedService.getTransferStatus(sender.getCustomerId(), sender.getId(), finished.transferId()).getStatus())
+                .isEqualTo(AsyncTransferStatus.FAILED);
+        assertThat(accountRepository.findBalanceById(sender.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.valueOf(30))));
+    }
+
+    private AsyncTransferResponse awaitFinished(AsyncTransferService service, String transferId) throws InterruptedException {
+        return awaitFinished(service, sender, transferId);
+    }
+
+    private AsyncTransferResponse awaitFinished(AsyncTransferService service, AccountEntity account, String transferId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        AsyncTransferResponse status = service.getTransferStatus(account.getCustomerId(), account.getId(), transferId);
+        while (status.getStatus() == AsyncTransferStatus.PENDING && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            status = service.getTransferStatus(account.getCustomerId(), account.getId(), transferId);
+        }
+        return status;
+    }
+
+    private JournaledTransfer journaledTransfer(BigDecimal amount) {
+        return new JournaledTransfer(UuidV7Generator.generate().toString(), sender.getCustomerId(), sender.getId(),
+                amount, receiver.getAccountNumber(), "journaled transfer");
+    }
+
+    private NewMoneyTransferRequest transferRequest(BigDecimal amount) {
+        return NewMoneyTransferRequest
+                .builder()
+                .amount(amount)
+                .receiverAccountNumber(receiver.getAccountNumber())
+                .description("async transfer")
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.entity.CustomerEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bearer token verification, the per-request authentication cost once a customer has logged in.
+ * Compare with {@code PasswordEncoderBenchmark} for the BCrypt check done by HTTP Basic.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=AuthTokenServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenServiceBenchmark {
+
+    private AuthTokenService authTokenService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authTokenService = new AuthTokenService("benchmark-secret", Duration.ofHours(1));
+        token = authTokenService.issueToken(CustomerEntity
+                        .builder()
+                        .id("customerId")
+                        .email("customer@test.com")
+                        .build())
+                .getAccessToken();
+    }
+
+    @Benchmark
+    public Optional<CustomerEntity> verifyToken() {
+        return authTokenService.verifyToken(token);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.response.TokenResponse;
+import com.example.bank_app.entity.CustomerEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokenServiceTest {
+
+    private static final String SECRET = "test-secret";
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Instant NOW = Instant.parse("2024-08-01T10:00:00Z");
+
+    private AuthTokenService authTokenService;
+    private CustomerEntity customerEntity;
+
+    @BeforeEach
+    void setUp() {
+        authTokenService = new AuthTokenService(SECRET, TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+        customerEntity = CustomerEntity
+                .builder()
+                .id("customerId")
+                .email("a|b@test.com")
+                .password("encodedPassword")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the customer id and email when the token is valid.")
+    void shouldReturnCustomer_whenTokenIsValid() {
+        TokenResponse tokenResponse = authTokenService.issueToken(customerEntity);
+
+        assertThat(tokenResponse.getTokenType()).isEqualTo("Bearer");
+        assertThat(tokenResponse.getExpiresIn()).isEqualTo(TTL.toSeconds());
+        assertThat(authTokenService.verifyToken(tokenResponse.getAccessToken()))
+                .hasValueSatisfying(customer -> {
+                    assertThat(customer.getId()).isEqualTo("customerId");
+                    assertThat(customer.getEmail()).isEqualTo("a|b@test.com");
+                    assertThat(customer.getPassword()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject the token when it has expired.")
+    void shouldRejectToken_whenTokenExpired() {
+        String token = authTokenService.issueToken(customerEntity).getAccessToken();
+        AuthTokenService laterAuthTokenService = new AuthTokenService(SECRET, TTL, Clock.fixed(NOW.plus(TTL), ZoneOffset.UTC));
+
+        assertThat(laterAuthTokenService.verifyToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject the token when it was signed with another secret.")
+    void shouldRejectToken_whenSignedWithAnotherSecret() {
+        String token = new AuthTokenService("other-secret", TTL, Clock.fixed(NOW, ZoneOffset.UTC))
+                .issueToken(customerEntity)
+                .getAccessToken();
+
+        assertThat(authTokenService.verifyToken(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject the token when its payload was changed.")
+    void shouldRejectToken_whenPayloadTampered() {
+        String token = authTokenService.issueToken(customerEntity).getAccessToken();
+        CustomerEntity otherCustomer = CustomerEntity.builder().id("otherCustomerId").email("other@test.com").build();
+        String otherPayload = authTokenService.issueToken(otherCustomer).getAccessToken().split("\\.")[0];
+
+        assertThat(authTokenService.verifyToken(otherPayload + token.substring(token.indexOf('.')))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject the token when it is malformed.")
+    void shouldRejectToken_whenMalformed() {
+        assertThat(authTokenService.verifyToken("")).isEmpty();
+        assertThat(authTokenService.verifyToken("no-signature")).isEmpty();
+        assertThat(authTokenService.verifyToken("payload.%%%")).isEmpty();
+    }
+}
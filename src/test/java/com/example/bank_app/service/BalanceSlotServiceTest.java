@@ -0,0 +1,95 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import com.example.bank_app.repository.AccountBalanceSlotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BalanceSlotServiceTest extends AccountDatabaseTest {
+
+    private static final int BALANCE_SLOTS = 4;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    private String customerId;
+    private AccountDto payer;
+    private AccountDto merchant;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        payer = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(1_000)));
+        merchant = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(100)));
+        balanceSlotService.enableBalanceSlots(merchant.getAccountNumber(), BALANCE_SLOTS);
+    }
+
+    @Test
+    @DisplayName("Should keep credits to a hot account in its slots and include them in the account balance.")
+    void shouldCreditSlotsAndSumThemIntoBalance_whenReceiverIsHotAccount() {
+        for (int i = 0; i < 20; i++) {
+            transfer(payer, merchant, BigDecimal.TEN);
+        }
+
+        assertThat(accountRepository.findBalanceById(merchant.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(BigDecimal.valueOf(100)));
+        assertThat(accountBalanceSlotRepository.countByAccountId(merchant.getId())).isEqualTo(BALANCE_SLOTS);
+        assertThat(accountService.getAccountByIdAndCustomerId(merchant.getId(), customerId).getBalance())
+                .isEqualByComparingTo(BigDecimal.valueOf(300));
+        assertThat(accountService.getAllAccounts(customerId))
+                .filteredOn(account -> account.getId().equals(merchant.getId()))
+                .singleElement()
+                .satisfies(account -> assertThat(account.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(300)));
+    }
+
+    @Test
+    @DisplayName("Should sweep the slots into the account row when a debit needs the slot credits.")
+    void shouldSweepSlotsIntoAccountRow_whenDebitNeedsSlotCredits() {
+        transfer(payer, merchant, BigDecimal.valueOf(150));
+
+        transfer(merchant, payer, BigDecimal.valueOf(200));
+
+        assertThat(accountBalanceSlotRepository.sumBalanceByAccountId(merchant.getId())).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(accountRepository.findBalanceById(merchant.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(BigDecimal.valueOf(50)));
+        assertThat(ledgerService.getBalance(merchant.getId())).isEqualByComparingTo(BigDecimal.valueOf(50));
+    }
+
+    @Test
+    @DisplayName("Should not debit a hot account when its account row and slots together cannot cover the transfer.")
+    void shouldNotDebitHotAccount_whenAccountRowAndSlotsCannotCoverTransfer() {
+        transfer(payer, merchant, BigDecimal.valueOf(50));
+
+        assertThatThrownBy(() -> transfer(merchant, payer, BigDecimal.valueOf(151)))
+                .isInstanceOf(BalanceIsNotEnoughException.class);
+
+        assertThat(accountService.getAccountByIdAndCustomerId(merchant.getId(), customerId).getBalance())
+                .isEqualByComparingTo(BigDecimal.valueOf(150));
+    }
+
+    private void transfer(AccountDto sender, AccountDto receiver, BigDecimal amount) {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(amount)
+                .receiverAccountNumber(receiver.getAccountNumber())
+                .description("hot account transfer")
+                .build();
+        transactionService.addNewTransaction(customerId, sender.getId(), request);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bank_app.service;
 
 import com.example.bank_app.dto.model.CustomerDto;
 import com.example.bank_app.entity.CustomerEntity;
+import com.example.bank_app.mapper.CustomerMapper;
 import com.example.bank_app.repository.CustomerRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,7 +10,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
@@ -27,7 +27,7 @@ class CustomerServiceTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
 
     @InjectMocks
     private CustomerService customerService;
@@ -44,7 +44,7 @@ class CustomerServiceTest {
         customerDto.setEmail("test@example.com");
 
         when(customerRepository.findById("customerId")).thenReturn(Optional.of(customerEntity));
-        when(modelMapper.map(customerEntity, CustomerDto.class)).thenReturn(customerDto);
+        when(customerMapper.toDto(customerEntity)).thenReturn(customerDto);
 
         CustomerDto result = customerService.getAuthenticatedCustomerById("customerId");
 
@@ -55,7 +55,7 @@ class CustomerServiceTest {
 
 
         verify(customerRepository, times(1)).findById("customerId");
-        verify(modelMapper, times(1)).map(customerEntity, CustomerDto.class);
+        verify(customerMapper, times(1)).toDto(customerEntity);
     }
 
     @Test
@@ -66,7 +66,17 @@ class CustomerServiceTest {
                 customerService.getAuthenticatedCustomerById("invalidCustomerId"));
 
         verify(customerRepository, times(1)).findById("invalidCustomerId");
-        verifyNoInteractions(modelMapper);
+        verifyNoInteractions(customerMapper);
+    }
+
+    @Test
+    void testGetAuthenticatedCustomerETag_ReturnsVersionTag() {
+        when(customerRepository.findVersionById("customerId")).thenReturn(Optional.of(3L));
+
+        assertEquals("customerId.3", customerService.getAuthenticatedCustomerETag("customerId"));
+
+        verify(customerRepository, never()).findById("customerId");
+        verifyNoInteractions(customerMapper);
     }
 
 }
\ No newline at end of file
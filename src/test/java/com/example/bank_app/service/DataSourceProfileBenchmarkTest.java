@@ -0,0 +1,134 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.repository.AccountRepository;
+import com.example.bank_app.repository.LedgerEntryRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same transfer and account listing load with the default datasource settings and with the
+ * {@code prod} profile, each against its own H2 database in MySQL mode. Clients run on virtual threads
+ * like web requests do, so the connection pool is what limits concurrency.
+ * Run with {@code mvn test -Pbenchmark -Dtest=DataSourceProfileBenchmarkTest -Dbenchmark.clients=200}.
+ * H2 ignores the mysql-connector-j settings; to measure those point both runs at a scratch MySQL schema with
+ * {@code -Dbenchmark.url=jdbc:mysql://localhost:3306/bank_app_benchmark -Dspring.datasource.username=... -Dspring.datasource.password=...}.
+ */
+@Tag("benchmark")
+public class DataSourceProfileBenchmarkTest {
+
+    private static final String DATASOURCE_URL = "spring.datasource.url=${benchmark.url:jdbc:h2:mem:bank_app_${random.uuid};MODE=MySQL;" +
+            "DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE}";
+
+    private static final int TRANSFERS = Integer.getInteger("benchmark.transfers", 20_000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 100);
+    private static final int WARMUP_TRANSFERS = 2_000;
+
+    @Nested
+    @SpringBootTest(properties = DATASOURCE_URL)
+    class DefaultSettings extends TransferLoad {
+    }
+
+    @Nested
+    @SpringBootTest(properties = DATASOURCE_URL)
+    @ActiveProfiles("prod")
+    class ProdProfile extends TransferLoad {
+    }
+
+    abstract static class TransferLoad {
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private AccountService accountService;
+
+        @Autowired
+        private AccountRepository accountRepository;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private LedgerEntryRepository ledgerEntryRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @AfterEach
+        void tearDown() {
+            ledgerEntryRepository.deleteAllInBatch();
+            transactionRepository.deleteAllInBatch();
+            accountRepository.deleteAllInBatch();
+        }
+
+        @Test
+        void measureTransferThroughput() throws Exception {
+            List<AccountEntity> accounts = IntStream.range(0, CLIENTS * 2)
+                    .mapToObj(serial -> accountRepository.save(AccountEntity
+                            .builder()
+                            .customerId(UUID.randomUUID().toString())
+                            .accountNumber(AccountNumber.fromSerial(serial))
+                            .balance(BigDecimal.valueOf(TRANSFERS))
+                            .build()))
+                    .toList();
+
+            run(accounts, WARMUP_TRANSFERS);
+            double transfersPerSecond = run(accounts, TRANSFERS);
+
+            assertThat(transactionRepository.count()).isEqualTo(WARMUP_TRANSFERS + TRANSFERS);
+            System.out.printf("[benchmark] %-16s pool=%-3d transfers=%d clients=%d %10.0f transfers/s%n",
+                    getClass().getSimpleName(), ((HikariDataSource) dataSource).getMaximumPoolSize(),
+                    TRANSFERS, CLIENTS, transfersPerSecond);
+        }
+
+        // every client pays from its own account to its neighbour's and lists its accounts after each transfer
+        private double run(List<AccountEntity> accounts, int transfers) throws Exception {
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> results = new ArrayList<>();
+                for (int client = 0; client < CLIENTS; client++) {
+                    AccountEntity sender = accounts.get(client * 2);
+                    NewMoneyTransferRequest request = NewMoneyTransferRequest
+                            .builder()
+                            .amount(BigDecimal.ONE)
+                            .receiverAccountNumber(accounts.get(client * 2 + 1).getAccountNumber())
+                            .description("benchmark")
+                            .build();
+                    int clientTransfers = transfers / CLIENTS + (client < transfers % CLIENTS ? 1 : 0);
+                    results.add(executor.submit(() -> {
+                        for (int i = 0; i < clientTransfers; i++) {
+                            transactionService.addNewTransaction(sender.getCustomerId(), sender.getId(), request);
+                            accountService.getAllAccounts(sender.getCustomerId());
+                        }
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            }
+            return transfers / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+    }
+}
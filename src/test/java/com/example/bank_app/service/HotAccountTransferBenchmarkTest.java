@@ -0,0 +1,127 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.repository.AccountBalanceSlotRepository;
+import com.example.bank_app.repository.AccountRepository;
+import com.example.bank_app.repository.LedgerEntryRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures incoming-transfer throughput on one merchant account while every thread pays from its own account,
+ * so the merchant row (or its balance slots) is the only shared lock.
+ * Run with {@code mvn test -Pbenchmark -Dtest=HotAccountTransferBenchmarkTest -Dbenchmark.transfers=50000}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class HotAccountTransferBenchmarkTest {
+
+    private static final int TRANSFERS = Integer.getInteger("benchmark.transfers", 10_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int[] BALANCE_SLOTS = {0, 4, 16, 64};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceSlotService balanceSlotService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceSlotRepository accountBalanceSlotRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private long nextSerial;
+
+    @AfterEach
+    void tearDown() {
+        ledgerEntryRepository.deleteAllInBatch();
+        transactionRepository.deleteAllInBatch();
+        accountBalanceSlotRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareIncomingTransferThroughputAcrossBalanceSlots() throws Exception {
+        for (int balanceSlots : BALANCE_SLOTS) {
+            AccountEntity merchant = createAccount(BigDecimal.ZERO);
+            if (balanceSlots > 0) {
+                balanceSlotService.enableBalanceSlots(merchant.getAccountNumber(), balanceSlots);
+            }
+            List<AccountEntity> payers = IntStream.range(0, THREADS)
+                    .mapToObj(i -> createAccount(BigDecimal.valueOf(TRANSFERS)))
+                    .toList();
+
+            double transfersPerSecond = measure(merchant, payers);
+
+            assertThat(accountService.getAccountByIdAndCustomerId(merchant.getId(), merchant.getCustomerId()).getBalance())
+                    .isEqualByComparingTo(BigDecimal.valueOf(TRANSFERS));
+            System.out.printf("[benchmark] transfers=%d threads=%d balance slots=%-3d %10.0f transfers/s%n",
+                    TRANSFERS, THREADS, balanceSlots, transfersPerSecond);
+        }
+    }
+
+    private double measure(AccountEntity merchant, List<AccountEntity> payers) throws Exception {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.ONE)
+                .receiverAccountNumber(merchant.getAccountNumber())
+                .description("benchmark")
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            AccountEntity payer = payers.get(thread);
+            int payerTransfers = TRANSFERS / THREADS + (thread < TRANSFERS % THREADS ? 1 : 0);
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < payerTransfers; i++) {
+                    transactionService.addNewTransaction(payer.getCustomerId(), payer.getId(), request);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        executor.shutdown();
+        return TRANSFERS / elapsedSeconds;
+    }
+
+    private AccountEntity createAccount(BigDecimal balance) {
+        return accountRepository.save(AccountEntity
+                .builder()
+                .customerId(UUID.randomUUID().toString())
+                .accountNumber(AccountNumber.fromSerial(nextSerial++))
+                .balance(balance)
+                .build());
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.IdempotencyKeyEntity;
+import com.example.bank_app.entity.TransactionEntity;
+import com.example.bank_app.exception.IdempotencyKeyReusedException;
+import com.example.bank_app.exception.InvalidIdempotencyKeyException;
+import com.example.bank_app.mapper.TransactionMapper;
+import com.example.bank_app.repository.IdempotencyKeyRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+
+    private static final String CUSTOMER_ID = "customerId";
+    private static final String ACCOUNT_ID = "accountId";
+    private static final String IDEMPOTENCY_KEY = "idempotencyKey";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<IdempotencyKeyEntity> idempotencyKeyCaptor;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private NewMoneyTransferRequest request;
+    private TransactionEntity transactionEntity;
+    private TransactionDto transactionDto;
+
+    @BeforeEach
+    void setUp() {
+        request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.valueOf(100))
+                .receiverAccountNumber("1234567890123456")
+                .description("rent")
+                .build();
+        transactionEntity = TransactionEntity.builder().id("transactionId").build();
+        transactionDto = TransactionDto.builder().id("transactionId").build();
+    }
+
+    @Test
+    @DisplayName("Should record the key and transfer when the key is new.")
+    public void shouldRecordKeyAndTransfer_whenKeyIsNew() {
+        IdempotencyKeyEntity savedKey = new IdempotencyKeyEntity();
+        executeTransactionCallbacks();
+        when(idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(CUSTOMER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(idempotencyKeyCaptor.capture())).thenReturn(savedKey);
+        when(transactionService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request)).thenReturn(transactionDto);
+
+        TransactionDto result = idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, IDEMPOTENCY_KEY);
+
+        assertThat(result).isEqualTo(transactionDto);
+        assertThat(idempotencyKeyCaptor.getValue().getCustomerId()).isEqualTo(CUSTOMER_ID);
+        assertThat(idempotencyKeyCaptor.getValue().getIdempotencyKey()).isEqualTo(IDEMPOTENCY_KEY);
+        assertThat(idempotencyKeyCaptor.getValue().getRequestHash()).hasSize(64);
+        assertThat(savedKey.getTransactionId()).isEqualTo("transactionId");
+    }
+
+    @Test
+    @DisplayName("Should return the stored transaction without transferring again when the key was already used for the same request.")
+    public void shouldReturnStoredTransaction_whenKeyReplayedWithSameRequest() {
+        IdempotencyKeyEntity storedKey = recordFirstAttempt();
+        when(idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(CUSTOMER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(storedKey));
+        when(transactionRepository.findById("transactionId")).thenReturn(Optional.of(transactionEntity));
+        when(transactionMapper.toDto(transactionEntity)).thenReturn(transactionDto);
+
+        TransactionDto result = idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, IDEMPOTENCY_KEY);
+
+        assertThat(result).isEqualTo(transactionDto);
+        verify(transactionService, never()).addNewTransaction(any(), any(), any());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should throw IdempotencyKeyReusedException when the key was already used for a different request.")
+    public void shouldThrowIdempotencyKeyReusedException_whenKeyReplayedWithDifferentRequest() {
+        IdempotencyKeyEntity storedKey = recordFirstAttempt();
+        when(idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(CUSTOMER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.of(storedKey));
+        request.setAmount(BigDecimal.valueOf(200));
+
+        assertThatThrownBy(() -> idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, IDEMPOTENCY_KEY))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+
+        verify(transactionService, never()).addNewTransaction(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return the stored transaction when a concurrent retry recorded the same key first.")
+    public void shouldReturnStoredTransaction_whenConcurrentRetryRecordedKeyFirst() {
+        AtomicReference<IdempotencyKeyEntity> concurrentKey = new AtomicReference<>();
+        executeTransactionCallbacks();
+        when(idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(CUSTOMER_ID, IDEMPOTENCY_KEY))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> Optional.of(concurrentKey.get()));
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            IdempotencyKeyEntity key = invocation.getArgument(0);
+            key.setTransactionId("transactionId");
+            concurrentKey.set(key);
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+        when(transactionRepository.findById("transactionId")).thenReturn(Optional.of(transactionEntity));
+        when(transactionMapper.toDto(transactionEntity)).thenReturn(transactionDto);
+
+        TransactionDto result = idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, IDEMPOTENCY_KEY);
+
+        assertThat(result).isEqualTo(transactionDto);
+        verify(transactionService, never()).addNewTransaction(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidIdempotencyKeyException when the key is blank.")
+    public void shouldThrowInvalidIdempotencyKeyException_whenKeyIsBlank() {
+        assertThatThrownBy(() -> idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, " "))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+
+        verifyNoInteractions(idempotencyKeyRepository, transactionService);
+    }
+
+    private IdempotencyKeyEntity recordFirstAttempt() {
+        executeTransactionCallbacks();
+        when(idempotencyKeyRepository.findByCustomerIdAndIdempotencyKey(CUSTOMER_ID, IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(idempotencyKeyCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request)).thenReturn(transactionDto);
+
+        idempotencyService.addNewTransaction(CUSTOMER_ID, ACCOUNT_ID, request, IDEMPOTENCY_KEY);
+
+        clearInvocations(transactionService, transactionTemplate);
+        return idempotencyKeyCaptor.getValue();
+    }
+
+    private void executeTransactionCallbacks() {
+        when(transactionService.retryOnOptimisticConflict(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.LedgerEntryType;
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.LedgerEntryEntity;
+import com.example.bank_app.repository.AccountBalanceSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LedgerServiceTest extends AccountDatabaseTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountBalanceSnapshotRepository accountBalanceSnapshotRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String customerId;
+    private AccountDto sender;
+    private AccountDto receiver;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        sender = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(1_000)));
+        receiver = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should post one debit and one balancing credit when a transfer is made.")
+    void shouldPostBalancedDebitAndCredit_whenTransferIsMade() {
+        TransactionDto transaction = transfer(BigDecimal.valueOf(250));
+
+        List<LedgerEntryEntity> entries = ledgerEntryRepository.findAllByTransactionId(transaction.getId());
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries).anySatisfy(entry -> {
+            assertThat(entry.getEntryType()).isEqualTo(LedgerEntryType.DEBIT);
+            assertThat(entry.getAccountId()).isEqualTo(sender.getId());
+            assertThat(entry.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(-250));
+        });
+        assertThat(entries).anySatisfy(entry -> {
+            assertThat(entry.getEntryType()).isEqualTo(LedgerEntryType.CREDIT);
+            assertThat(entry.getAccountId()).isEqualTo(receiver.getId());
+            assertThat(entry.getAmount()).isEqualByComparingTo(BigDecimal.valueOf(250));
+        });
+    }
+
+    @Test
+    @DisplayName("Should derive the same balances as the account rows from the snapshot plus later postings.")
+    void shouldDeriveAccountBalances_whenPostingsAreMadeBeforeAndAfterSnapshot() {
+        transfer(BigDecimal.valueOf(100));
+        transactionService.addNewTransactions(customerId, sender.getId(), List.of(transferRequest(BigDecimal.valueOf(30)), transferRequest(BigDecimal.valueOf(20))));
+        letAnHourPass();
+
+        ledgerService.snapshotBalances();
+
+        assertThat(accountBalanceSnapshotRepository.findById(sender.getId())).hasValueSatisfying(snapshot ->
+                assertThat(snapshot.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(850)));
+
+        transfer(BigDecimal.valueOf(50));
+
+        assertThat(ledgerService.getBalance(sender.getId())).isEqualByComparingTo(BigDecimal.valueOf(800));
+        assertThat(ledgerService.getBalance(receiver.getId())).isEqualByComparingTo(BigDecimal.valueOf(200));
+        assertThat(ledgerService.getBalance(sender.getId())).isEqualByComparingTo(accountRepository.findBalanceById(sender.getId()).orElseThrow());
+        assertThat(ledgerService.getBalance(receiver.getId())).isEqualByComparingTo(accountRepository.findBalanceById(receiver.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should leave postings to a later run when they are too recent to be settled.")
+    void shouldLeavePostingsToLaterRun_whenTheyAreTooRecentToBeSettled() {
+        transfer(BigDecimal.valueOf(100));
+
+        ledgerService.snapshotBalances();
+
+        assertThat(accountBalanceSnapshotRepository.findById(sender.getId())).isEmpty();
+        assertThat(ledgerService.getBalance(sender.getId())).isEqualByComparingTo(BigDecimal.valueOf(900));
+
+        letAnHourPass();
+        ledgerService.snapshotBalances();
+
+        assertThat(accountBalanceSnapshotRepository.findById(sender.getId())).hasValueSatisfying(snapshot ->
+                assertThat(snapshot.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(900)));
+    }
+
+    @Test
+    @DisplayName("Should count a posting made after the snapshot even when its id sorts before the snapshotted ones.")
+    void shouldCountPostingMadeAfterSnapshot_whenItsIdSortsBeforeSnapshottedPostings() {
+        TransactionDto transaction = transfer(BigDecimal.valueOf(100));
+        letAnHourPass();
+        ledgerService.snapshotBalances();
+
+        // a node whose clock is behind generates UUIDv7 ids that sort before the ones already snapshotted
+        jdbcTemplate.update("INSERT INTO ledger_entry (id, account_id, transaction_id, entry_type, amount, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                UuidBinaryType.toBytes("00000000-0000-7000-8000-000000000001"), UuidBinaryType.toBytes(receiver.getId()),
+                UuidBinaryType.toBytes(transaction.getId()), LedgerEntryType.CREDIT.name(), BigDecimal.valueOf(5), LocalDateTime.now());
+
+        assertThat(ledgerService.getBalance(receiver.getId())).isEqualByComparingTo(BigDecimal.valueOf(105));
+
+        letAnHourPass();
+        ledgerService.snapshotBalances();
+
+        assertThat(accountBalanceSnapshotRepository.findById(receiver.getId())).hasValueSatisfying(snapshot ->
+                assertThat(snapshot.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(105)));
+    }
+
+    @Test
+    @DisplayName("Should count a reconciliation mismatch when an account balance no longer matches its ledger.")
+    void shouldCountReconciliationMismatch_whenAccountBalanceDriftsFromLedger() {
+        transfer(BigDecimal.valueOf(100));
+        jdbcTemplate.update("UPDATE account SET balance = balance + 1 WHERE id = ?", UuidBinaryType.toBytes(receiver.getId()));
+        letAnHourPass();
+        double mismatchesBefore = meterRegistry.counter("bank.ledger.reconciliation.mismatches").count();
+
+        ledgerService.snapshotBalances();
+
+        assertThat(meterRegistry.counter("bank.ledger.reconciliation.mismatches").count()).isEqualTo(mismatchesBefore + 1);
+    }
+
+    // The job only folds postings dated well before it runs, so tests move the ledger and the job's watermark
+    // back instead of waiting.
+    private void letAnHourPass() {
+        jdbcTemplate.update("UPDATE ledger_entry SET created_at = DATEADD('HOUR', -1, created_at)");
+        jdbcTemplate.update("UPDATE aggregation_watermark SET processed_until = DATEADD('HOUR', -1, processed_until) WHERE name = ?",
+                LedgerService.WATERMARK_NAME);
+    }
+
+    private TransactionDto transfer(BigDecimal amount) {
+        return transactionService.addNewTransaction(customerId, sender.getId(), transferRequest(amount));
+    }
+
+    private NewMoneyTransferRequest transferRequest(BigDecimal amount) {
+        return NewMoneyTransferRequest
+                .builder()
+                .amount(amount)
+                .receiverAccountNumber(receiver.getAccountNumber())
+                .description("ledger transfer")
+                .build();
+    }
+}
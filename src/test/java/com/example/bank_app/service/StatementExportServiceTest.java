@@ -0,0 +1,98 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.exception.AccountNotFoundException;
+import com.example.bank_app.exception.InvalidDateRangeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StatementExportServiceTest extends AccountDatabaseTest {
+
+    @Autowired
+    private StatementExportService statementExportService;
+
+    private String customerId;
+    private AccountDto payer;
+    private AccountDto payee;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        payer = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(100)));
+        payee = accountService.addNewAccount(UUID.randomUUID().toString(), newAccountRequest(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should write the account's transactions in the date range oldest first as CSV rows.")
+    void shouldWriteTransactionsInDateRangeOldestFirst() {
+        String march = transfer("rent, \"march\"", LocalDateTime.of(2024, 3, 31, 23, 59));
+        String january = transfer("groceries", LocalDateTime.of(2024, 1, 1, 0, 0));
+        transfer("outside range", LocalDateTime.of(2024, 4, 1, 0, 0));
+
+        StringWriter csv = new StringWriter();
+        statementExportService.exportStatementCsv(payer.getId(), customerId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31), () -> csv);
+
+        assertThat(csv.toString().lines()).containsExactly(
+                StatementExportService.CSV_HEADER,
+                january + ",2024-01-01T00:00,TRANSFER," + payer.getId() + "," + payee.getId() + ",10.00,80.00,groceries",
+                march + ",2024-03-31T23:59,TRANSFER," + payer.getId() + "," + payee.getId() + ",10.00,90.00,\"rent, \"\"march\"\"\"");
+    }
+
+    @Test
+    @DisplayName("Should prefix descriptions that a spreadsheet would run as formulas with a quote.")
+    void shouldPrefixDescriptionWithQuote_whenItStartsLikeFormula() {
+        String formula = transfer("=HYPERLINK(\"http://example.com\",\"refund\")", LocalDateTime.of(2024, 1, 1, 0, 0));
+        String negative = transfer("-10 adjustment", LocalDateTime.of(2024, 1, 2, 0, 0));
+        String plain = transfer("refund - march", LocalDateTime.of(2024, 1, 3, 0, 0));
+
+        StringWriter csv = new StringWriter();
+        statementExportService.exportStatementCsv(payer.getId(), customerId, null, null, () -> csv);
+
+        assertThat(csv.toString().lines()).contains(
+                formula + ",2024-01-01T00:00,TRANSFER," + payer.getId() + "," + payee.getId() + ",10.00,90.00,\"'=HYPERLINK(\"\"http://example.com\"\",\"\"refund\"\")\"",
+                negative + ",2024-01-02T00:00,TRANSFER," + payer.getId() + "," + payee.getId() + ",10.00,80.00,'-10 adjustment",
+                plain + ",2024-01-03T00:00,TRANSFER," + payer.getId() + "," + payee.getId() + ",10.00,70.00,refund - march");
+    }
+
+    @Test
+    @DisplayName("Should not open the writer when the date range is reversed.")
+    void shouldNotOpenWriter_whenDateRangeIsReversed() {
+        assertThatThrownBy(() -> statementExportService.exportStatementCsv(payer.getId(), customerId,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), () -> {
+                    throw new AssertionError("writer opened");
+                }))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    @DisplayName("Should not export an account that belongs to another customer.")
+    void shouldNotExport_whenAccountBelongsToAnotherCustomer() {
+        assertThatThrownBy(() -> statementExportService.exportStatementCsv(payee.getId(), customerId, null, null, StringWriter::new))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    private String transfer(String description, LocalDateTime date) {
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(payee.getAccountNumber())
+                .description(description)
+                .build();
+        TransactionDto transaction = transactionService.addNewTransaction(customerId, payer.getId(), request);
+        redate(transaction, date);
+        return transaction.getId();
+    }
+}
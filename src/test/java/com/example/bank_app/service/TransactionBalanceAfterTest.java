@@ -0,0 +1,84 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.UuidBinaryType;
+import com.example.bank_app.dto.model.AccountDto;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionBalanceAfterTest extends AccountDatabaseTest {
+
+    private String customerId;
+    private AccountDto payer;
+    private AccountDto payee;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID().toString();
+        payer = accountService.addNewAccount(customerId, newAccountRequest(BigDecimal.valueOf(100)));
+        payee = accountService.addNewAccount(UUID.randomUUID().toString(), newAccountRequest(BigDecimal.ZERO));
+    }
+
+    @Test
+    @DisplayName("Should record both accounts' balances after a single transfer.")
+    void shouldRecordBalancesAfter_whenSingleTransferCompleted() {
+        TransactionDto transaction = transactionService.addNewTransaction(customerId, payer.getId(), transferRequest());
+
+        assertThat(transaction.getSenderBalanceAfter()).isEqualByComparingTo("90");
+        assertThat(transaction.getReceiverBalanceAfter()).isEqualByComparingTo("10");
+    }
+
+    @Test
+    @DisplayName("Should record running balances in order when a batch moves each account once.")
+    void shouldRecordRunningBalances_whenBatchTransferCompleted() {
+        List<TransactionDto> transactions = transactionService.addNewTransactions(customerId, payer.getId(), Collections.nCopies(3, transferRequest()));
+
+        assertThat(transactions).extracting(TransactionDto::getSenderBalanceAfter)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(90), BigDecimal.valueOf(80), BigDecimal.valueOf(70));
+        assertThat(transactions).extracting(TransactionDto::getReceiverBalanceAfter)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(BigDecimal.valueOf(10), BigDecimal.valueOf(20), BigDecimal.valueOf(30));
+    }
+
+    @Test
+    @DisplayName("Should return the balance left by the latest transaction at or before the given time.")
+    void shouldReturnBalanceOfLatestTransaction_whenBalanceAsOfRequested() {
+        redate(transactionService.addNewTransaction(customerId, payer.getId(), transferRequest()), LocalDateTime.of(2024, 1, 1, 0, 0));
+        redate(transactionService.addNewTransaction(customerId, payer.getId(), transferRequest()), LocalDateTime.of(2024, 2, 1, 0, 0));
+
+        LocalDateTime midJanuary = LocalDateTime.of(2024, 1, 15, 0, 0);
+        assertThat(transactionService.getBalanceAsOf(payer.getId(), customerId, midJanuary).getBalance()).isEqualByComparingTo("90");
+        assertThat(transactionService.getBalanceAsOf(payer.getId(), customerId, LocalDateTime.of(2024, 2, 1, 0, 0)).getBalance()).isEqualByComparingTo("80");
+        assertThat(transactionService.getBalanceAsOf(payee.getId(), payee.getCustomerId(), midJanuary).getBalance()).isEqualByComparingTo("10");
+        assertThat(transactionService.getBalanceAsOf(payee.getId(), payee.getCustomerId(), LocalDateTime.of(2023, 12, 31, 0, 0)).getBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should sum the ledger when the latest transaction has no recorded balance.")
+    void shouldSumLedger_whenLatestTransactionHasNoRecordedBalance() {
+        TransactionDto transaction = transactionService.addNewTransaction(customerId, payer.getId(), transferRequest());
+        jdbcTemplate.update("UPDATE transaction SET sender_balance_after = NULL WHERE id = ?", UuidBinaryType.toBytes(transaction.getId()));
+
+        assertThat(transactionService.getBalanceAsOf(payer.getId(), customerId, LocalDateTime.now()).getBalance()).isEqualByComparingTo("90");
+    }
+
+    private NewMoneyTransferRequest transferRequest() {
+        return NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(payee.getAccountNumber())
+                .description("rent")
+                .build();
+    }
+}
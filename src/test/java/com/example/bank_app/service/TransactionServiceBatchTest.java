@@ -0,0 +1,74 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransactionServiceBatchTest extends AccountDatabaseTest {
+
+    private static final int RECEIVER_COUNT = 100;
+    private static final int TRANSFER_COUNT = 10_000;
+
+    private AccountEntity sender;
+    private final List<AccountEntity> receivers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        sender = saveAccount(AccountNumber.fromSerial(RECEIVER_COUNT), BigDecimal.valueOf(TRANSFER_COUNT));
+        for (int i = 0; i < RECEIVER_COUNT; i++) {
+            receivers.add(saveAccount(AccountNumber.fromSerial(i), BigDecimal.ZERO));
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply every transfer of a large batch in one transaction.")
+    void shouldApplyEveryTransfer_whenLargeBatchSubmitted() {
+        List<TransactionDto> result = transactionService.addNewTransactions(sender.getCustomerId(), sender.getId(), createTransfers(BigDecimal.ONE));
+
+        assertThat(result).hasSize(TRANSFER_COUNT);
+        assertThat(result).allSatisfy(transaction -> assertThat(transaction.getId()).isNotNull());
+        assertThat(transactionRepository.count()).isEqualTo(TRANSFER_COUNT);
+        assertThat(accountRepository.findBalanceById(sender.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(BigDecimal.ZERO));
+        assertThat(accountRepository.findBalanceById(receivers.getFirst().getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(BigDecimal.valueOf(TRANSFER_COUNT / RECEIVER_COUNT)));
+    }
+
+    @Test
+    @DisplayName("Should roll back the whole batch when the sender balance is not enough for the total.")
+    void shouldRollBackWholeBatch_whenSenderBalanceIsNotEnoughForTotal() {
+        List<NewMoneyTransferRequest> transfers = createTransfers(BigDecimal.TEN);
+
+        assertThatThrownBy(() -> transactionService.addNewTransactions(sender.getCustomerId(), sender.getId(), transfers))
+                .isInstanceOf(BalanceIsNotEnoughException.class);
+
+        assertThat(transactionRepository.count()).isZero();
+        assertThat(accountRepository.findBalanceById(receivers.getFirst().getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+
+    private List<NewMoneyTransferRequest> createTransfers(BigDecimal amount) {
+        List<NewMoneyTransferRequest> transfers = new ArrayList<>(TRANSFER_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            transfers.add(NewMoneyTransferRequest
+                    .builder()
+                    .amount(amount)
+                    .receiverAccountNumber(receivers.get(i % RECEIVER_COUNT).getAccountNumber())
+                    .description("salary")
+                    .build());
+        }
+        return transfers;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.model.TransactionDto;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.mapper.TransactionMapper;
+import com.example.bank_app.repository.fake.InMemoryAccountRepository;
+import com.example.bank_app.repository.fake.InMemoryLedgerEntryRepository;
+import com.example.bank_app.repository.fake.InMemoryTransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TransactionService#addNewTransaction} against in-memory repositories, so the numbers
+ * reflect the service's own validation, balance and mapping work rather than database latency.
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=TransactionServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    // the in-memory repositories have nothing to commit or roll back
+    private static final PlatformTransactionManager NO_TRANSACTION = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private InMemoryAccountRepository accountRepository;
+    private InMemoryTransactionRepository transactionRepository;
+    private InMemoryLedgerEntryRepository ledgerEntryRepository;
+    private TransactionService transactionService;
+    private AccountEntity senderAccount;
+    private NewMoneyTransferRequest transferRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        ledgerEntryRepository = new InMemoryLedgerEntryRepository();
+        transactionService = new TransactionService(
+                new AccountValidateService(accountRepository),
+                transactionRepository,
+                accountRepository,
+                new AccountLookupService(accountRepository),
+                new BalanceSlotService(null, accountRepository, null, null, List.of(), 0),
+                new LedgerService(ledgerEntryRepository, null, null, accountRepository, null, null, null, Duration.ZERO, Duration.ZERO),
+                new TransactionMapper(),
+                null,
+                new TransactionTemplate(NO_TRANSACTION),
+                new SimpleMeterRegistry());
+
+        senderAccount = accountRepository.save(AccountEntity
+                .builder()
+                .customerId("senderCustomerId")
+                .accountNumber(AccountNumber.fromSerial(1))
+                .balance(BigDecimal.valueOf(Long.MAX_VALUE))
+                .build());
+
+        AccountEntity receiverAccount = accountRepository.save(AccountEntity
+                .builder()
+                .customerId("receiverCustomerId")
+                .accountNumber(AccountNumber.fromSerial(2))
+                .balance(BigDecimal.ZERO)
+                .build());
+
+        transferRequest = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.ONE)
+                .receiverAccountNumber(receiverAccount.getAccountNumber())
+                .description("benchmark")
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTransactions() {
+        transactionRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+    }
+
+    @Benchmark
+    public TransactionDto addNewTransaction() {
+        return transactionService.addNewTransaction(senderAccount.getCustomerId(), senderAccount.getId(), transferRequest);
+    }
+}
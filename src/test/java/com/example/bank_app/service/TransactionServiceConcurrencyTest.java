@@ -0,0 +1,124 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import com.example.bank_app.dto.model.TransactionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TransactionServiceConcurrencyTest extends AccountDatabaseTest {
+
+    private static final int ACCOUNT_COUNT = 8;
+    private static final int TRANSFER_COUNT = 10_000;
+    private static final int THREAD_COUNT = 8;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000);
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private final List<AccountEntity> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accounts.add(saveAccount(AccountNumber.fromSerial(i), INITIAL_BALANCE));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the total balance unchanged when many transfers run concurrently in both directions.")
+    void shouldKeepTotalBalanceUnchanged_whenTransfersRunConcurrently() throws InterruptedException {
+        AtomicInteger completedTransfers = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                AccountEntity sender = accounts.get(random.nextInt(ACCOUNT_COUNT));
+                AccountEntity receiver = accounts.get(random.nextInt(ACCOUNT_COUNT));
+
+                NewMoneyTransferRequest request = NewMoneyTransferRequest
+                        .builder()
+                        .amount(BigDecimal.valueOf(random.nextInt(1, 50)))
+                        .receiverAccountNumber(receiver.getAccountNumber())
+                        .description("concurrent transfer")
+                        .build();
+                try {
+                    transactionService.addNewTransaction(sender.getCustomerId(), sender.getId(), request);
+                    completedTransfers.incrementAndGet();
+                } catch (BalanceIsNotEnoughException ignored) {
+                    // an empty sender is a valid outcome under random load
+                } catch (Throwable ex) {
+                    unexpectedErrors.add(ex);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(unexpectedErrors).isEmpty();
+        assertThat(completedTransfers.get()).isPositive();
+
+        BigDecimal totalBalance = accountRepository.findAll()
+                .stream()
+                .map(AccountEntity::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(totalBalance).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNT_COUNT)));
+        assertThat(accountRepository.findAll()).allSatisfy(account ->
+                assertThat(account.getBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO));
+        assertThat(transactionRepository.count()).isEqualTo(completedTransfers.get());
+        assertThat(accountRepository.findAll()).allSatisfy(account ->
+                assertThat(INITIAL_BALANCE.add(ledgerService.getBalance(account.getId()))).isEqualByComparingTo(account.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should transfer only once when the same idempotency key is retried concurrently.")
+    void shouldTransferOnlyOnce_whenSameIdempotencyKeyRetriedConcurrently() throws Exception {
+        AccountEntity sender = accounts.get(0);
+        AccountEntity receiver = accounts.get(1);
+        NewMoneyTransferRequest request = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(receiver.getAccountNumber())
+                .description("retried transfer")
+                .build();
+
+        Callable<TransactionDto> retry = () -> idempotencyService.addNewTransaction(sender.getCustomerId(), sender.getId(), request, "retry-key");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<TransactionDto>> results = executor.invokeAll(Collections.nCopies(THREAD_COUNT * 4, retry));
+        executor.shutdown();
+
+        String transactionId = results.getFirst().get().getId();
+        for (Future<TransactionDto> result : results) {
+            assertThat(result.get().getId()).isEqualTo(transactionId);
+        }
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat(accountRepository.findBalanceById(sender.getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.TEN)));
+    }
+}
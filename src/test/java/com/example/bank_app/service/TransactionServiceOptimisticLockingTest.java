@@ -0,0 +1,157 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import com.example.bank_app.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "bank-app.transfers.locking-mode=optimistic",
+        "bank-app.transfers.optimistic-max-attempts=100",
+        "bank-app.transfers.optimistic-retry-backoff=PT0.001S"
+})
+public class TransactionServiceOptimisticLockingTest extends AccountDatabaseTest {
+
+    private static final int ACCOUNT_COUNT = 4;
+    private static final int TRANSFER_COUNT = 500;
+    private static final int THREAD_COUNT = 8;
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<AccountEntity> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accounts.add(saveAccount(AccountNumber.fromSerial(i), INITIAL_BALANCE));
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply a transfer and bump both account versions when no other transfer touches the accounts.")
+    void shouldApplyTransferAndBumpVersions_whenAccountsAreNotContended() {
+        AccountEntity sender = accounts.get(0);
+        AccountEntity receiver = accounts.get(1);
+
+        transactionService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferTo(receiver, BigDecimal.TEN));
+
+        AccountEntity updatedSender = accountRepository.findById(sender.getId()).orElseThrow();
+        AccountEntity updatedReceiver = accountRepository.findById(receiver.getId()).orElseThrow();
+        assertThat(updatedSender.getBalance()).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.TEN));
+        assertThat(updatedReceiver.getBalance()).isEqualByComparingTo(INITIAL_BALANCE.add(BigDecimal.TEN));
+        assertThat(updatedSender.getVersion()).isEqualTo(sender.getVersion() + 1);
+        assertThat(updatedReceiver.getVersion()).isEqualTo(receiver.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("Should keep the total balance unchanged and retry conflicts when many transfers run concurrently in optimistic mode.")
+    void shouldKeepTotalBalanceUnchangedAndRetryConflicts_whenTransfersRunConcurrently() throws InterruptedException {
+        double retriesBefore = meterRegistry.counter("bank.transfers.optimistic.retries").count();
+        AtomicInteger completedTransfers = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                AccountEntity sender = accounts.get(random.nextInt(ACCOUNT_COUNT));
+                AccountEntity receiver = accounts.get(random.nextInt(ACCOUNT_COUNT));
+                try {
+                    transactionService.addNewTransaction(sender.getCustomerId(), sender.getId(),
+                            transferTo(receiver, BigDecimal.valueOf(random.nextInt(1, 50))));
+                    completedTransfers.incrementAndGet();
+                } catch (BalanceIsNotEnoughException ignored) {
+                    // an empty sender is a valid outcome under random load
+                } catch (Throwable ex) {
+                    unexpectedErrors.add(ex);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(unexpectedErrors).isEmpty();
+        assertThat(meterRegistry.counter("bank.transfers.optimistic.retries").count()).isGreaterThan(retriesBefore);
+
+        BigDecimal totalBalance = accountRepository.findAll()
+                .stream()
+                .map(AccountEntity::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(totalBalance).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNT_COUNT)));
+        assertThat(transactionRepository.count()).isEqualTo(completedTransfers.get());
+        assertThat(accountRepository.findAll()).allSatisfy(account ->
+                assertThat(INITIAL_BALANCE.add(ledgerService.getBalance(account.getId()))).isEqualByComparingTo(account.getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should retry conflicting idempotent transfers together with their keys when they run concurrently in optimistic mode.")
+    void shouldRetryConflictsWithKeys_whenIdempotentTransfersRunConcurrently() throws InterruptedException {
+        AtomicInteger completedTransfers = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        for (int i = 0; i < TRANSFER_COUNT; i++) {
+            executor.submit(() -> {
+                AccountEntity sender = accounts.get(0);
+                AccountEntity receiver = accounts.get(1 + ThreadLocalRandom.current().nextInt(ACCOUNT_COUNT - 1));
+                try {
+                    idempotencyService.addNewTransaction(sender.getCustomerId(), sender.getId(),
+                            transferTo(receiver, BigDecimal.ONE), UUID.randomUUID().toString());
+                    completedTransfers.incrementAndGet();
+                } catch (Throwable ex) {
+                    unexpectedErrors.add(ex);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(unexpectedErrors).isEmpty();
+        assertThat(completedTransfers).hasValue(TRANSFER_COUNT);
+        assertThat(idempotencyKeyRepository.findAll()).hasSize(TRANSFER_COUNT)
+                .allSatisfy(idempotencyKey -> assertThat(idempotencyKey.getTransactionId()).isNotNull());
+        assertThat(accountRepository.findBalanceById(accounts.get(0).getId())).hasValueSatisfying(balance ->
+                assertThat(balance).isEqualByComparingTo(INITIAL_BALANCE.subtract(BigDecimal.valueOf(TRANSFER_COUNT))));
+    }
+
+    private NewMoneyTransferRequest transferTo(AccountEntity receiver, BigDecimal amount) {
+        return NewMoneyTransferRequest
+                .builder()
+                .amount(amount)
+                .receiverAccountNumber(receiver.getAccountNumber())
+                .description("optimistic transfer")
+                .build();
+    }
+}
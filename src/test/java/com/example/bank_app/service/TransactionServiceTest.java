@@ -1,28 +1,42 @@
 package com.example.bank_app.service;
 
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.common.AccountReference;
+import com.example.bank_app.common.TransactionHistoryCursor;
 import com.example.bank_app.common.TransactionType;
 import com.example.bank_app.dto.model.TransactionDto;
 import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.dto.response.TransactionHistoryResponse;
 import com.example.bank_app.entity.AccountEntity;
 import com.example.bank_app.entity.TransactionEntity;
 import com.example.bank_app.exception.AccountNotFoundByNumberException;
 import com.example.bank_app.exception.AccountNotFoundException;
 import com.example.bank_app.exception.BalanceIsNotEnoughException;
+import com.example.bank_app.exception.InvalidAccountNumberException;
 import com.example.bank_app.exception.InvalidAmountException;
+import com.example.bank_app.exception.InvalidBatchSizeException;
+import com.example.bank_app.exception.InvalidCursorException;
+import com.example.bank_app.mapper.TransactionMapper;
 import com.example.bank_app.repository.AccountRepository;
 import com.example.bank_app.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
-import org.mockito.internal.verification.Times;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,8 +46,14 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class TransactionServiceTest {
 
+    private static final String RECEIVER_ACCOUNT_NUMBER = AccountNumber.fromSerial(1);
+    private static final String FIRST_ACCOUNT_NUMBER = AccountNumber.fromSerial(2);
+    private static final String SECOND_ACCOUNT_NUMBER = AccountNumber.fromSerial(3);
+    private static final String MISSING_ACCOUNT_NUMBER = AccountNumber.fromSerial(4);
+    private static final AccountReference RECEIVER_ACCOUNT = new AccountReference("receiverAccountId", "receiverCustomerId", 0);
+
     @Mock
-    private ModelMapper modelMapper;
+    private TransactionMapper transactionMapper;
 
     @Mock
     private AccountRepository accountRepository;
@@ -44,12 +64,30 @@ public class TransactionServiceTest {
     @Mock
     private AccountValidateService accountValidateService;
 
-    @Captor
-    private ArgumentCaptor<AccountEntity> accountCaptor;
+    @Mock
+    private AccountLookupService accountLookupService;
+
+    @Mock
+    private BalanceSlotService balanceSlotService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Captor
     private ArgumentCaptor<TransactionEntity> transactionCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<TransactionEntity>> transactionListCaptor;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -58,28 +96,10 @@ public class TransactionServiceTest {
     public void shouldAddNewTransaction_whenAccountsFoundByAccountIdAndCustomerIdAndSenderBalanceEnough() {
         TransactionType transactionType = TransactionType.TRANSFER;
 
-        AccountEntity senderAccount = AccountEntity
-                .builder()
-                .id("senderAccountId")
-                .customerId("senderCustomerId")
-                .accountNumber("senderAccountNumber")
-                .balance(BigDecimal.valueOf(100))
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        AccountEntity receiverAccount = AccountEntity
-                .builder()
-                .id("receiverAccountId")
-                .customerId("receiverCustomerId")
-                .accountNumber("receiverAccountNumber")
-                .balance(BigDecimal.ZERO)
-                .createdAt(LocalDateTime.now())
-                .build();
-
         NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
                 .amount(BigDecimal.TEN)
-                .receiverAccountNumber("receiverAccountNumber")
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
                 .description("description")
                 .build();
 
@@ -87,8 +107,8 @@ public class TransactionServiceTest {
                 .builder()
                 .id("transactionId")
                 .transactionType(transactionType)
-                .senderAccountId(senderAccount.getId())
-                .receiverAccountId(receiverAccount.getId())
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("receiverAccountId")
                 .amount(newMoneyTransferRequest.getAmount())
                 .description(newMoneyTransferRequest.getDescription())
                 .build();
@@ -97,59 +117,65 @@ public class TransactionServiceTest {
                 .builder()
                 .id("transactionId")
                 .transactionType(transactionType)
-                .senderAccountId(senderAccount.getId())
-                .receiverAccountId(receiverAccount.getId())
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("receiverAccountId")
                 .amount(newMoneyTransferRequest.getAmount())
                 .description(newMoneyTransferRequest.getDescription())
                 .build();
 
-        Mockito.when(accountRepository.findByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(Optional.of(senderAccount));
-        Mockito.when(accountRepository.findByAccountNumber("receiverAccountNumber")).thenReturn(Optional.of(receiverAccount));
+        Mockito.when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        Mockito.when(accountLookupService.findByAccountNumber(RECEIVER_ACCOUNT_NUMBER)).thenReturn(Optional.of(RECEIVER_ACCOUNT));
+        Mockito.when(accountRepository.debitBalance("senderAccountId", BigDecimal.TEN)).thenReturn(1);
+        Mockito.when(accountRepository.creditBalance("receiverAccountId", BigDecimal.TEN)).thenReturn(1);
         Mockito.when(transactionRepository.save(transactionCaptor.capture())).thenReturn(transactionEntity);
-        Mockito.when(modelMapper.map(transactionEntity, TransactionDto.class)).thenReturn(expected);
+        Mockito.when(transactionMapper.toDto(transactionEntity)).thenReturn(expected);
 
-        TransactionDto result = transactionService.addNewTransaction(senderAccount.getCustomerId(), senderAccount.getId(), newMoneyTransferRequest);
+        TransactionDto result = transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest);
 
         assertEquals(expected, result);
 
-        verify(accountRepository).findByIdAndCustomerId("senderAccountId", "senderCustomerId");
-        verify(accountRepository).findByAccountNumber("receiverAccountNumber");
-        verify(accountRepository, new Times(2)).save(accountCaptor.capture());
-
-        List<AccountEntity> capturedAccounts = accountCaptor.getAllValues();
-        assertThat(capturedAccounts).hasSize(2);
-
-        AccountEntity capturedSenderAccount = accountCaptor.getAllValues().getFirst();
-        assertThat(capturedSenderAccount.getId()).isEqualTo(senderAccount.getId());
-        assertThat(capturedSenderAccount.getBalance()).isEqualTo(BigDecimal.valueOf(90));
-
-        AccountEntity capturedReceiverAccount = accountCaptor.getAllValues().getLast();
-        assertThat(capturedReceiverAccount.getId()).isEqualTo(receiverAccount.getId());
-        assertThat(capturedReceiverAccount.getBalance()).isEqualTo(BigDecimal.TEN);
+        InOrder updateOrder = inOrder(accountRepository);
+        updateOrder.verify(accountRepository).creditBalance("receiverAccountId", BigDecimal.TEN);
+        updateOrder.verify(accountRepository).debitBalance("senderAccountId", BigDecimal.TEN);
+        verify(accountRepository, never()).save(Mockito.any(AccountEntity.class));
 
         verify(transactionRepository).save(Mockito.any(TransactionEntity.class));
+        verify(ledgerService).recordTransfer(transactionEntity);
 
         TransactionEntity capturedTransaction = transactionCaptor.getValue();
         assertThat(capturedTransaction.getDescription()).isEqualTo(newMoneyTransferRequest.getDescription());
         assertThat(capturedTransaction.getTransactionType()).isEqualTo(transactionType);
-        assertThat(capturedTransaction.getReceiverAccountId()).isEqualTo(capturedReceiverAccount.getId());
-        assertThat(capturedTransaction.getSenderAccountId()).isEqualTo(capturedSenderAccount.getId());
+        assertThat(capturedTransaction.getReceiverAccountId()).isEqualTo("receiverAccountId");
+        assertThat(capturedTransaction.getSenderAccountId()).isEqualTo("senderAccountId");
         assertThat(capturedTransaction.getAmount()).isEqualTo(newMoneyTransferRequest.getAmount());
 
-        verify(modelMapper).map(transactionEntity, TransactionDto.class);
+        verify(transactionMapper).toDto(transactionEntity);
+
+        assertThat(meterRegistry.get("bank.transfers").tag("outcome", "completed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("bank.transfer.stage").timers())
+                .extracting(timer -> timer.getId().getTag("stage"))
+                .containsExactlyInAnyOrder("validate_sender", "lookup_receiver", "update_balances", "save_transaction", "record_ledger", "map_dto");
     }
 
     @Test
     @DisplayName("Should not add a new transaction when sender account not found by account id and customer id.")
     public void shouldNotAddNewTransaction_whenSenderAccountNotFoundByAccountIdAndCustomerId() {
-        when(accountRepository.findByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(Optional.empty());
+        NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
+                .builder()
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
+                .build();
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(false);
 
-        assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", eq(Mockito.any(NewMoneyTransferRequest.class))))
+        assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("Account can not found by id: " + "senderAccountId");
 
-        verify(accountRepository).findByIdAndCustomerId("senderAccountId", "senderCustomerId");
+        verify(accountRepository).existsByIdAndCustomerId("senderAccountId", "senderCustomerId");
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
         Mockito.verifyNoInteractions(transactionRepository);
+        assertThat(meterRegistry.get("bank.transfers").tag("outcome", "AccountNotFoundException").counter().count()).isEqualTo(1);
     }
 
     @Test
@@ -158,114 +184,283 @@ public class TransactionServiceTest {
         NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
                 .amount(BigDecimal.TEN)
-                .receiverAccountNumber("receiverAccountNumber")
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
                 .description("description")
                 .build();
 
-        AccountEntity senderAccount = AccountEntity
-                .builder()
-                .id("senderAccountId")
-                .customerId("senderCustomerId")
-                .accountNumber("senderAccountNumber")
-                .balance(BigDecimal.ZERO)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        AccountEntity receiverAccount = AccountEntity
-                .builder()
-                .id("receiverAccountId")
-                .customerId("receiverCustomerId")
-                .accountNumber("receiverAccountNumber")
-                .balance(BigDecimal.ZERO)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        when(accountRepository.findByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByAccountNumber("receiverAccountNumber")).thenReturn(Optional.of(receiverAccount));
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(RECEIVER_ACCOUNT_NUMBER)).thenReturn(Optional.of(RECEIVER_ACCOUNT));
+        when(accountRepository.creditBalance("receiverAccountId", BigDecimal.TEN)).thenReturn(1);
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.TEN)).thenReturn(0);
+        when(accountRepository.findBalanceById("senderAccountId")).thenReturn(Optional.of(BigDecimal.ZERO));
 
         assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest))
                 .isInstanceOf(BalanceIsNotEnoughException.class)
-                .hasMessageContaining("Balance is not enough for this transfer! Your balance: " + senderAccount.getBalance());
+                .hasMessageContaining("Balance is not enough for this transfer! Your balance: " + BigDecimal.ZERO);
 
-        verify(accountRepository).findByIdAndCustomerId("senderAccountId", "senderCustomerId");
-        verify(accountRepository).findByAccountNumber("receiverAccountNumber");
+        verify(accountRepository).existsByIdAndCustomerId("senderAccountId", "senderCustomerId");
+        verify(accountLookupService).findByAccountNumber(RECEIVER_ACCOUNT_NUMBER);
+        verify(accountRepository).debitBalance("senderAccountId", BigDecimal.TEN);
         Mockito.verifyNoInteractions(transactionRepository);
     }
 
     @Test
-    @DisplayName("Should not add a new transaction when accounts found by account id and customer id but transaction amount is invalid.")
-    public void shouldNotAddNewTransaction_whenAccountsFoundByAccountIdAndCustomerIdButTransactionAmountIsInvalid() {
+    @DisplayName("Should credit a balance slot instead of the account row when the receiver is a hot account.")
+    public void shouldCreditBalanceSlot_whenReceiverIsHotAccount() {
         NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
-                .amount(BigDecimal.valueOf(-10))
-                .receiverAccountNumber("receiverAccountNumber")
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
                 .description("description")
                 .build();
+        AccountReference hotReceiverAccount = new AccountReference("receiverAccountId", "receiverCustomerId", 8);
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(RECEIVER_ACCOUNT_NUMBER)).thenReturn(Optional.of(hotReceiverAccount));
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.TEN)).thenReturn(1);
+        when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest);
+
+        InOrder updateOrder = inOrder(accountRepository, balanceSlotService);
+        updateOrder.verify(accountRepository).debitBalance("senderAccountId", BigDecimal.TEN);
+        updateOrder.verify(balanceSlotService).credit("receiverAccountId", 8, BigDecimal.TEN);
+        verify(accountRepository, never()).creditBalance(anyString(), any(BigDecimal.class));
+    }
 
-        AccountEntity senderAccount = AccountEntity
+    @Test
+    @DisplayName("Should sweep the sender's balance slots and retry the debit when the account row alone cannot cover the transfer.")
+    public void shouldSweepBalanceSlotsAndRetryDebit_whenAccountRowBalanceIsNotEnough() {
+        NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
-                .id("senderAccountId")
-                .customerId("senderCustomerId")
-                .accountNumber("senderAccountNumber")
-                .balance(BigDecimal.ZERO)
-                .createdAt(LocalDateTime.now())
+                .amount(BigDecimal.TEN)
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
+                .description("description")
                 .build();
 
-        AccountEntity receiverAccount = AccountEntity
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(RECEIVER_ACCOUNT_NUMBER)).thenReturn(Optional.of(RECEIVER_ACCOUNT));
+        when(accountRepository.creditBalance("receiverAccountId", BigDecimal.TEN)).thenReturn(1);
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.TEN)).thenReturn(0, 1);
+        when(balanceSlotService.sweepIntoBalance("senderAccountId")).thenReturn(true);
+        when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest);
+
+        InOrder updateOrder = inOrder(accountRepository, balanceSlotService);
+        updateOrder.verify(accountRepository).creditBalance("receiverAccountId", BigDecimal.TEN);
+        updateOrder.verify(accountRepository).debitBalance("senderAccountId", BigDecimal.TEN);
+        updateOrder.verify(balanceSlotService).sweepIntoBalance("senderAccountId");
+        updateOrder.verify(accountRepository).debitBalance("senderAccountId", BigDecimal.TEN);
+        verify(accountRepository, never()).findBalanceById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not add a new transaction when accounts found by account id and customer id but transaction amount is invalid.")
+    public void shouldNotAddNewTransaction_whenAccountsFoundByAccountIdAndCustomerIdButTransactionAmountIsInvalid() {
+        NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
-                .id("receiverAccountId")
-                .customerId("receiverCustomerId")
-                .accountNumber("receiverAccountNumber")
-                .balance(BigDecimal.ZERO)
-                .createdAt(LocalDateTime.now())
+                .amount(BigDecimal.valueOf(-10))
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
+                .description("description")
                 .build();
 
-        when(accountRepository.findByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(Optional.of(senderAccount));
-        when(accountRepository.findByAccountNumber("receiverAccountNumber")).thenReturn(Optional.of(receiverAccount));
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(RECEIVER_ACCOUNT_NUMBER)).thenReturn(Optional.of(RECEIVER_ACCOUNT));
 
         assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest))
                 .isInstanceOf(InvalidAmountException.class)
                 .hasMessageContaining("Invalid amount! Please enter a value greater than 0.");
 
-        verify(accountRepository).findByIdAndCustomerId("senderAccountId", "senderCustomerId");
-        verify(accountRepository).findByAccountNumber("receiverAccountNumber");
+        verify(accountRepository).existsByIdAndCustomerId("senderAccountId", "senderCustomerId");
+        verify(accountLookupService).findByAccountNumber(RECEIVER_ACCOUNT_NUMBER);
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
+        verify(accountRepository, never()).creditBalance(anyString(), any(BigDecimal.class));
         Mockito.verifyNoInteractions(transactionRepository);
     }
 
     @Test
     @DisplayName("Should not add a new transaction when the sender account is present and balance is enough but the receiver account not found.")
     public void shouldNotAddNewTransaction_whenTheSenderAccountIsPresentAndBalanceIsEnoughButTheReceiverAccountNotFound() {
-        AccountEntity senderAccount = AccountEntity
-                .builder()
-                .id("senderAccountId")
-                .customerId("senderCustomerId")
-                .accountNumber("senderAccountNumber")
-                .balance(BigDecimal.valueOf(100))
-                .createdAt(LocalDateTime.now())
-                .build();
-
         NewMoneyTransferRequest newMoneyTransferRequest = NewMoneyTransferRequest
                 .builder()
                 .amount(BigDecimal.TEN)
-                .receiverAccountNumber("receiverAccountNumber")
+                .receiverAccountNumber(RECEIVER_ACCOUNT_NUMBER)
                 .description("description")
                 .build();
 
-        Mockito.when(accountRepository.findByIdAndCustomerId("senderAccountId","senderCustomerId" )).thenReturn(Optional.of(senderAccount));
-        Mockito.when(accountRepository.findByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber())).thenReturn(Optional.empty());
+        Mockito.when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        Mockito.when(accountLookupService.findByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest))
                 .isInstanceOf(AccountNotFoundByNumberException.class)
                 .hasMessageContaining("Account can not found by number: " + newMoneyTransferRequest.getReceiverAccountNumber());
 
-        verify(accountRepository).findByIdAndCustomerId("senderAccountId","senderCustomerId" );
-        verify(accountRepository).findByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber());
+        verify(accountRepository).existsByIdAndCustomerId("senderAccountId","senderCustomerId" );
+        verify(accountLookupService).findByAccountNumber(newMoneyTransferRequest.getReceiverAccountNumber());
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
         verifyNoInteractions(transactionRepository);
     }
 
     @Test
-    @DisplayName("Should return all transactions when the account found by account id and customer id.")
-    public void shouldReturnAllTransactions_whenTheAccountFoundByAccountIdAndCustomerId() {
+    @DisplayName("Should not add a new transaction when the receiver account number is not found and fails the check digit.")
+    public void shouldNotAddNewTransaction_whenReceiverAccountNumberNotFoundAndFailsCheckDigit() {
+        String mistypedAccountNumber = RECEIVER_ACCOUNT_NUMBER.substring(0, 15) + (RECEIVER_ACCOUNT_NUMBER.charAt(15) == '9' ? '0' : '9');
+        NewMoneyTransferRequest newMoneyTransferRequest = createTransferRequest(BigDecimal.TEN, mistypedAccountNumber);
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(mistypedAccountNumber)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest))
+                .isInstanceOf(InvalidAccountNumberException.class)
+                .hasMessageContaining("Invalid account number: " + mistypedAccountNumber);
+
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
+        Mockito.verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should add a new transaction when the receiver has a legacy account number without a valid check digit.")
+    public void shouldAddNewTransaction_whenReceiverHasLegacyAccountNumberWithoutValidCheckDigit() {
+        String legacyAccountNumber = RECEIVER_ACCOUNT_NUMBER.substring(0, 15) + (RECEIVER_ACCOUNT_NUMBER.charAt(15) == '9' ? '0' : '9');
+        NewMoneyTransferRequest newMoneyTransferRequest = createTransferRequest(BigDecimal.TEN, legacyAccountNumber);
+        TransactionEntity transactionEntity = TransactionEntity
+                .builder()
+                .id("transactionId")
+                .transactionType(TransactionType.TRANSFER)
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("receiverAccountId")
+                .amount(BigDecimal.TEN)
+                .build();
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountLookupService.findByAccountNumber(legacyAccountNumber)).thenReturn(Optional.of(RECEIVER_ACCOUNT));
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.TEN)).thenReturn(1);
+        when(accountRepository.creditBalance("receiverAccountId", BigDecimal.TEN)).thenReturn(1);
+        when(transactionRepository.save(any(TransactionEntity.class))).thenReturn(transactionEntity);
+        when(transactionMapper.toDto(transactionEntity)).thenReturn(TransactionDto.builder().id("transactionId").build());
+
+        TransactionDto result = transactionService.addNewTransaction("senderCustomerId", "senderAccountId", newMoneyTransferRequest);
+
+        assertEquals("transactionId", result.getId());
+    }
+
+    @Test
+    @DisplayName("Should add all transactions with one aggregated debit when the batch receivers are found and sender balance enough.")
+    public void shouldAddAllTransactionsWithOneAggregatedDebit_whenBatchReceiversFoundAndSenderBalanceEnough() {
+        List<NewMoneyTransferRequest> requests = List.of(
+                createTransferRequest(BigDecimal.TEN, FIRST_ACCOUNT_NUMBER),
+                createTransferRequest(BigDecimal.ONE, SECOND_ACCOUNT_NUMBER),
+                createTransferRequest(BigDecimal.TEN, FIRST_ACCOUNT_NUMBER));
+
+        AccountEntity firstReceiver = AccountEntity.builder().id("firstAccountId").accountNumber(FIRST_ACCOUNT_NUMBER).build();
+        AccountEntity secondReceiver = AccountEntity.builder().id("secondAccountId").accountNumber(SECOND_ACCOUNT_NUMBER).build();
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountRepository.findAllByAccountNumberIn(Set.of(FIRST_ACCOUNT_NUMBER, SECOND_ACCOUNT_NUMBER)))
+                .thenReturn(List.of(firstReceiver, secondReceiver));
+        when(accountRepository.creditBalance("firstAccountId", BigDecimal.valueOf(20))).thenReturn(1);
+        when(accountRepository.creditBalance("secondAccountId", BigDecimal.ONE)).thenReturn(1);
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.valueOf(21))).thenReturn(1);
+        when(transactionRepository.saveAll(transactionListCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionMapper.toDto(any(TransactionEntity.class))).thenReturn(new TransactionDto());
+
+        List<TransactionDto> result = transactionService.addNewTransactions("senderCustomerId", "senderAccountId", requests);
+
+        assertThat(result).hasSize(3);
+
+        InOrder updateOrder = inOrder(accountRepository);
+        updateOrder.verify(accountRepository).creditBalance("firstAccountId", BigDecimal.valueOf(20));
+        updateOrder.verify(accountRepository).creditBalance("secondAccountId", BigDecimal.ONE);
+        updateOrder.verify(accountRepository).debitBalance("senderAccountId", BigDecimal.valueOf(21));
+        verify(accountLookupService, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, never()).save(any(TransactionEntity.class));
+        verify(ledgerService).recordTransfers(transactionListCaptor.getValue());
+
+        assertThat(transactionListCaptor.getValue())
+                .extracting(TransactionEntity::getReceiverAccountId)
+                .containsExactly("firstAccountId", "secondAccountId", "firstAccountId");
+        assertThat(transactionListCaptor.getValue())
+                .allSatisfy(transaction -> {
+                    assertThat(transaction.getSenderAccountId()).isEqualTo("senderAccountId");
+                    assertThat(transaction.getTransactionType()).isEqualTo(TransactionType.TRANSFER);
+                });
+    }
+
+    @Test
+    @DisplayName("Should not add any transactions when a batch receiver account not found.")
+    public void shouldNotAddAnyTransactions_whenBatchReceiverAccountNotFound() {
+        List<NewMoneyTransferRequest> requests = List.of(
+                createTransferRequest(BigDecimal.TEN, FIRST_ACCOUNT_NUMBER),
+                createTransferRequest(BigDecimal.ONE, MISSING_ACCOUNT_NUMBER));
+
+        AccountEntity firstReceiver = AccountEntity.builder().id("firstAccountId").accountNumber(FIRST_ACCOUNT_NUMBER).build();
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountRepository.findAllByAccountNumberIn(Set.of(FIRST_ACCOUNT_NUMBER, MISSING_ACCOUNT_NUMBER)))
+                .thenReturn(List.of(firstReceiver));
+
+        assertThatThrownBy(() -> transactionService.addNewTransactions("senderCustomerId", "senderAccountId", requests))
+                .isInstanceOf(AccountNotFoundByNumberException.class)
+                .hasMessageContaining(MISSING_ACCOUNT_NUMBER);
+
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
+        verify(accountRepository, never()).creditBalance(anyString(), any(BigDecimal.class));
+        Mockito.verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not add any transactions when a batch receiver account number is malformed and not found.")
+    public void shouldNotAddAnyTransactions_whenBatchReceiverAccountNumberMalformedAndNotFound() {
+        List<NewMoneyTransferRequest> requests = List.of(
+                createTransferRequest(BigDecimal.TEN, FIRST_ACCOUNT_NUMBER),
+                createTransferRequest(BigDecimal.ONE, "12345"));
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountRepository.findAllByAccountNumberIn(Set.of(FIRST_ACCOUNT_NUMBER, "12345")))
+                .thenReturn(List.of(AccountEntity.builder().id("firstAccountId").accountNumber(FIRST_ACCOUNT_NUMBER).build()));
+
+        assertThatThrownBy(() -> transactionService.addNewTransactions("senderCustomerId", "senderAccountId", requests))
+                .isInstanceOf(InvalidAccountNumberException.class);
+
+        verify(accountRepository, never()).debitBalance(anyString(), any(BigDecimal.class));
+        Mockito.verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not add any transactions when the sender balance is not enough for the batch total.")
+    public void shouldNotAddAnyTransactions_whenSenderBalanceIsNotEnoughForBatchTotal() {
+        List<NewMoneyTransferRequest> requests = List.of(
+                createTransferRequest(BigDecimal.TEN, RECEIVER_ACCOUNT_NUMBER),
+                createTransferRequest(BigDecimal.TEN, RECEIVER_ACCOUNT_NUMBER));
+
+        AccountEntity receiver = AccountEntity.builder().id("receiverAccountId").accountNumber(RECEIVER_ACCOUNT_NUMBER).build();
+
+        when(accountRepository.existsByIdAndCustomerId("senderAccountId", "senderCustomerId")).thenReturn(true);
+        when(accountRepository.findAllByAccountNumberIn(Set.of(RECEIVER_ACCOUNT_NUMBER))).thenReturn(List.of(receiver));
+        when(accountRepository.creditBalance("receiverAccountId", BigDecimal.valueOf(20))).thenReturn(1);
+        when(accountRepository.debitBalance("senderAccountId", BigDecimal.valueOf(20))).thenReturn(0);
+        when(accountRepository.findBalanceById("senderAccountId")).thenReturn(Optional.of(BigDecimal.TEN));
+
+        assertThatThrownBy(() -> transactionService.addNewTransactions("senderCustomerId", "senderAccountId", requests))
+                .isInstanceOf(BalanceIsNotEnoughException.class)
+                .hasMessageContaining("Your balance: " + BigDecimal.TEN);
+
+        Mockito.verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not add any transactions when the batch is empty.")
+    public void shouldNotAddAnyTransactions_whenBatchIsEmpty() {
+        assertThatThrownBy(() -> transactionService.addNewTransactions("senderCustomerId", "senderAccountId", List.of()))
+                .isInstanceOf(InvalidBatchSizeException.class);
+
+        Mockito.verifyNoInteractions(accountRepository, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the latest transactions page with a next cursor when the account has more transactions than the page size.")
+    public void shouldReturnLatestTransactionsPageWithNextCursor_whenTheAccountHasMoreTransactionsThanThePageSize() {
         AccountEntity accountEntity = AccountEntity
                 .builder()
                 .id("accountId")
@@ -275,6 +470,8 @@ public class TransactionServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        LocalDateTime latestDate = LocalDateTime.of(2024, 8, 1, 12, 30);
+
         TransactionEntity transactionEntity1 = TransactionEntity
                 .builder()
                 .id("transactionId1")
@@ -282,7 +479,7 @@ public class TransactionServiceTest {
                 .receiverAccountId("receiverAccountId")
                 .amount(BigDecimal.valueOf(100))
                 .transactionType(TransactionType.TRANSFER)
-                .date(LocalDateTime.now())
+                .date(latestDate)
                 .description("description")
                 .build();
 
@@ -293,7 +490,7 @@ public class TransactionServiceTest {
                 .receiverAccountId("accountId")
                 .amount(BigDecimal.valueOf(200))
                 .transactionType(TransactionType.TRANSFER)
-                .date(LocalDateTime.now())
+                .date(latestDate.minusDays(1))
                 .description("description")
                 .build();
 
@@ -304,52 +501,138 @@ public class TransactionServiceTest {
                 .receiverAccountId("receiverAccountId")
                 .amount(BigDecimal.valueOf(100))
                 .transactionType(TransactionType.TRANSFER)
-                .date(LocalDateTime.now())
+                .date(latestDate)
                 .description("description")
                 .build();
 
-        TransactionDto transactionDto2 = TransactionDto
+        when(accountValidateService.retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId")).thenReturn((accountEntity));
+        when(transactionRepository.findLatestByAccountId("accountId", 2)).thenReturn(Arrays.asList(transactionEntity1, transactionEntity2));
+        when(transactionMapper.toDto(transactionEntity1)).thenReturn(transactionDto1);
+
+        TransactionHistoryResponse result = transactionService.getTransactionHistory("accountId", "customerId", null, 1);
+
+        assertEquals(List.of(transactionDto1), result.getTransactions());
+        assertThat(TransactionHistoryCursor.decode(result.getNextCursor()))
+                .isEqualTo(new TransactionHistoryCursor(latestDate, "transactionId1"));
+
+        verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
+        verify(transactionRepository).findLatestByAccountId("accountId", 2);
+        verify(transactionMapper).toDto(transactionEntity1);
+        verify(transactionMapper, never()).toDto(transactionEntity2);
+    }
+
+    @Test
+    @DisplayName("Should return the transactions after the cursor without a next cursor when the last page is reached.")
+    public void shouldReturnTransactionsAfterTheCursorWithoutNextCursor_whenTheLastPageIsReached() {
+        LocalDateTime cursorDate = LocalDateTime.of(2024, 8, 1, 12, 30);
+        String cursor = new TransactionHistoryCursor(cursorDate, "transactionId1").encode();
+
+        TransactionEntity transactionEntity = TransactionEntity
                 .builder()
                 .id("transactionId2")
                 .senderAccountId("senderAccountId")
                 .receiverAccountId("accountId")
                 .amount(BigDecimal.valueOf(200))
                 .transactionType(TransactionType.TRANSFER)
-                .date(LocalDateTime.now())
+                .date(cursorDate.minusDays(1))
                 .description("description")
                 .build();
 
-        when(accountValidateService.retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId")).thenReturn((accountEntity));
-        when(transactionRepository.findAllByAccountId("accountId")).thenReturn(Arrays.asList(transactionEntity1,transactionEntity2));
-        when(modelMapper.map(transactionEntity1, TransactionDto.class)).thenReturn(transactionDto1);
-        when(modelMapper.map(transactionEntity2, TransactionDto.class)).thenReturn(transactionDto2);
+        TransactionDto transactionDto = TransactionDto
+                .builder()
+                .id("transactionId2")
+                .senderAccountId("senderAccountId")
+                .receiverAccountId("accountId")
+                .amount(BigDecimal.valueOf(200))
+                .transactionType(TransactionType.TRANSFER)
+                .date(cursorDate.minusDays(1))
+                .description("description")
+                .build();
 
+        when(transactionRepository.findByAccountIdBefore("accountId", cursorDate, "transactionId1", 51)).thenReturn(List.of(transactionEntity));
+        when(transactionMapper.toDto(transactionEntity)).thenReturn(transactionDto);
 
-        List<TransactionDto> result = transactionService.getAllTransactions("accountId", "customerId");
-        List<TransactionDto> expected = Arrays.asList(transactionDto1, transactionDto2);
+        TransactionHistoryResponse result = transactionService.getTransactionHistory("accountId", "customerId", cursor, null);
 
-        assertEquals(expected, result);
+        assertEquals(List.of(transactionDto), result.getTransactions());
+        assertThat(result.getNextCursor()).isNull();
 
         verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
-        verify(transactionRepository).findAllByAccountId("accountId");
-        verify(modelMapper).map(transactionEntity1, TransactionDto.class);
-        verify(modelMapper).map(transactionEntity2, TransactionDto.class);
+        verify(transactionRepository).findByAccountIdBefore("accountId", cursorDate, "transactionId1", 51);
+    }
 
+    @Test
+    @DisplayName("Should not return any transactions when the cursor is invalid.")
+    public void shouldNotReturnAnyTransactions_whenTheCursorIsInvalid() {
+        assertThatThrownBy(() -> transactionService.getTransactionHistory("accountId", "customerId", "not-a-cursor", null))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining("Invalid transaction history cursor: not-a-cursor");
+
+        verifyNoInteractions(transactionRepository);
+        verifyNoInteractions(transactionMapper);
     }
 
     @Test
-    @DisplayName("Should not return all transactions when the account not found by account id and customer id.")
-    public void shouldNotReturnAllTransactions_whenTheAccountNotFoundByAccountIdAndCustomerId() {
+    @DisplayName("Should not return any transactions when the account not found by account id and customer id.")
+    public void shouldNotReturnAnyTransactions_whenTheAccountNotFoundByAccountIdAndCustomerId() {
         when(accountValidateService.retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId"))
                 .thenThrow(new AccountNotFoundException("accountId"));
 
-        assertThatThrownBy(() -> transactionService.getAllTransactions("accountId", "customerId"))
+        assertThatThrownBy(() -> transactionService.getTransactionHistory("accountId", "customerId", null, null))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("Account can not found by id: " + "accountId");
 
         verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
         verifyNoInteractions(transactionRepository);
-        verifyNoInteractions(modelMapper);
+        verifyNoInteractions(transactionMapper);
+    }
+
+    @Test
+    @DisplayName("Should stream every transaction and detach it when the account found by account id and customer id.")
+    public void shouldStreamEveryTransactionAndDetachIt_whenTheAccountFoundByAccountIdAndCustomerId() {
+        TransactionEntity transactionEntity1 = TransactionEntity.builder().id("transactionId1").build();
+        TransactionEntity transactionEntity2 = TransactionEntity.builder().id("transactionId2").build();
+        TransactionDto transactionDto1 = TransactionDto.builder().id("transactionId1").build();
+        TransactionDto transactionDto2 = TransactionDto.builder().id("transactionId2").build();
+
+        when(transactionRepository.findLatestByAccountId("accountId", 1_000)).thenReturn(List.of(transactionEntity1, transactionEntity2));
+        when(transactionMapper.toDto(transactionEntity1)).thenReturn(transactionDto1);
+        when(transactionMapper.toDto(transactionEntity2)).thenReturn(transactionDto2);
+
+        List<TransactionDto> streamed = new ArrayList<>();
+        transactionService.streamTransactionHistory("accountId", "customerId", streamed::add);
+
+        assertEquals(List.of(transactionDto1, transactionDto2), streamed);
+
+        verify(accountValidateService).retrieveAndValidateAccountByIdAndCustomerId("accountId", "customerId");
+        verify(entityManager).detach(transactionEntity1);
+        verify(entityManager).detach(transactionEntity2);
     }
 
+    @Test
+    @DisplayName("Should stream the next page before the last streamed transaction when a page comes back full.")
+    public void shouldStreamNextPage_whenPageComesBackFull() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        TransactionEntity newerTransaction = TransactionEntity.builder().id("transactionId2").date(date).build();
+        TransactionEntity olderTransaction = TransactionEntity.builder().id("transactionId1").date(date.minusDays(1)).build();
+
+        when(transactionRepository.findLatestByAccountId("accountId", 1_000)).thenReturn(Collections.nCopies(1_000, newerTransaction));
+        when(transactionRepository.findByAccountIdBefore("accountId", date, "transactionId2", 1_000)).thenReturn(List.of(olderTransaction));
+        when(transactionMapper.toDto(any(TransactionEntity.class))).thenReturn(TransactionDto.builder().build());
+
+        List<TransactionDto> streamed = new ArrayList<>();
+        transactionService.streamTransactionHistory("accountId", "customerId", streamed::add);
+
+        assertEquals(1_001, streamed.size());
+        verify(transactionMapper).toDto(olderTransaction);
+    }
+
+    private NewMoneyTransferRequest createTransferRequest(BigDecimal amount, String receiverAccountNumber) {
+        return NewMoneyTransferRequest
+                .builder()
+                .amount(amount)
+                .receiverAccountNumber(receiverAccountNumber)
+                .description("description")
+                .build();
+    }
 }
@@ -0,0 +1,153 @@
+package com.example.bank_app.service;
+
+import com.example.bank_app.common.AccountNumber;
+import com.example.bank_app.dto.request.NewMoneyTransferRequest;
+import com.example.bank_app.entity.AccountEntity;
+import com.example.bank_app.repository.AccountRepository;
+import com.example.bank_app.repository.LedgerEntryRepository;
+import com.example.bank_app.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the pessimistic and optimistic transfer locking modes on the same load: a uniform workload where
+ * clients pay between random accounts, and a skewed one where most transfers pay into one hot account
+ * (without balance slots). Reports throughput, p99 latency, optimistic retries and transfers that ran out of attempts.
+ * Run with {@code mvn test -Pbenchmark -Dtest=TransferLockingModeBenchmarkTest -Dbenchmark.clients=64}.
+ */
+@Tag("benchmark")
+public class TransferLockingModeBenchmarkTest {
+
+    private static final int TRANSFERS = Integer.getInteger("benchmark.transfers", 10_000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 32);
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 1_000);
+    private static final double HOT_ACCOUNT_SHARE = 0.9;
+
+    @Nested
+    @SpringBootTest(properties = "bank-app.transfers.locking-mode=pessimistic")
+    class Pessimistic extends TransferLoad {
+    }
+
+    @Nested
+    @SpringBootTest(properties = "bank-app.transfers.locking-mode=optimistic")
+    class Optimistic extends TransferLoad {
+    }
+
+    abstract static class TransferLoad {
+
+        @Autowired
+        private TransactionService transactionService;
+
+        @Autowired
+        private AccountRepository accountRepository;
+
+        @Autowired
+        private TransactionRepository transactionRepository;
+
+        @Autowired
+        private LedgerEntryRepository ledgerEntryRepository;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @AfterEach
+        void tearDown() {
+            ledgerEntryRepository.deleteAllInBatch();
+            transactionRepository.deleteAllInBatch();
+            accountRepository.deleteAllInBatch();
+            cacheManager.getCache(AccountLookupService.ACCOUNTS_BY_NUMBER_CACHE).clear();
+        }
+
+        @Test
+        void measureUniformWorkload() throws Exception {
+            measure("uniform", 0);
+        }
+
+        @Test
+        void measureSkewedWorkload() throws Exception {
+            measure("skewed", HOT_ACCOUNT_SHARE);
+        }
+
+        private void measure(String workload, double hotAccountShare) throws Exception {
+            List<AccountEntity> accounts = IntStream.range(0, ACCOUNTS)
+                    .mapToObj(serial -> accountRepository.save(AccountEntity
+                            .builder()
+                            .customerId(UUID.randomUUID().toString())
+                            .accountNumber(AccountNumber.fromSerial(serial))
+                            .balance(BigDecimal.valueOf(TRANSFERS))
+                            .build()))
+                    .toList();
+            double retriesBefore = meterRegistry.counter("bank.transfers.optimistic.retries").count();
+            AtomicInteger exhausted = new AtomicInteger();
+            long[] latencies = new long[TRANSFERS];
+
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+                List<Future<?>> results = new ArrayList<>();
+                for (int client = 0; client < CLIENTS; client++) {
+                    int firstTransfer = client;
+                    results.add(executor.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = firstTransfer; i < TRANSFERS; i += CLIENTS) {
+                            AccountEntity sender = accounts.get(1 + random.nextInt(ACCOUNTS - 1));
+                            AccountEntity receiver = random.nextDouble() < hotAccountShare
+                                    ? accounts.getFirst()
+                                    : accounts.get(random.nextInt(ACCOUNTS));
+                            long transferStart = System.nanoTime();
+                            try {
+                                transactionService.addNewTransaction(sender.getCustomerId(), sender.getId(), transferTo(receiver));
+                            } catch (OptimisticLockingFailureException ex) {
+                                exhausted.incrementAndGet();
+                            }
+                            latencies[i] = System.nanoTime() - transferStart;
+                        }
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertThat(transactionRepository.count()).isEqualTo(TRANSFERS - exhausted.get());
+            Arrays.sort(latencies);
+            System.out.printf("[benchmark] %-11s %-7s transfers=%d clients=%d accounts=%d %8.0f transfers/s p99=%7.2f ms retries=%-6.0f exhausted=%d%n",
+                    getClass().getSimpleName(), workload, TRANSFERS, CLIENTS, ACCOUNTS, TRANSFERS / elapsedSeconds,
+                    latencies[(int) Math.ceil(TRANSFERS * 0.99) - 1] / 1_000_000.0,
+                    meterRegistry.counter("bank.transfers.optimistic.retries").count() - retriesBefore, exhausted.get());
+        }
+
+        private NewMoneyTransferRequest transferTo(AccountEntity receiver) {
+            return NewMoneyTransferRequest
+                    .builder()
+                    .amount(BigDecimal.ONE)
+                    .receiverAccountNumber(receiver.getAccountNumber())
+                    .description("benchmark")
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- H2 in MySQL mode can hand two sessions inserting at once the same identity value, which breaks the unique
+-- entry_sequence of ledger postings. MySQL's AUTO_INCREMENT does not, so only the test schema draws the column
+-- from a plain sequence instead.
+CREATE SEQUENCE IF NOT EXISTS ledger_entry_entry_sequence;
+ALTER TABLE ledger_entry ALTER COLUMN entry_sequence DROP IDENTITY;
+ALTER TABLE ledger_entry ALTER COLUMN entry_sequence SET DEFAULT NEXT VALUE FOR ledger_entry_entry_sequence;